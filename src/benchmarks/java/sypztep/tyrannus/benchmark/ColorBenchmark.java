@@ -0,0 +1,98 @@
+package sypztep.tyrannus.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sypztep.tyrannus.common.util.ColorRamp;
+import sypztep.tyrannus.common.util.ColorUtil;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hover color transitions: the original per-call channel interpolation of
+ * {@code UIPanel.interpolateColor}, the shared {@link ColorUtil#lerp} it now delegates
+ * to, and the precomputed {@link ColorRamp} lookups the widgets use every frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorBenchmark {
+    private static final int FROM = 0xE0202020;
+    private static final int TO = 0xE0303030;
+    private static final int SAMPLES = 1024;
+
+    private final float[] progress = new float[SAMPLES];
+    private ColorRamp ramp;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            progress[i] = random.nextFloat();
+        }
+        ramp = ColorUtil.ramp(FROM, TO);
+    }
+
+    @Benchmark
+    public int legacyInterpolate() {
+        int acc = 0;
+        for (float p : progress) {
+            acc ^= legacyInterpolateColor(FROM, TO, p);
+        }
+        return acc;
+    }
+
+    @Benchmark
+    public int colorUtilLerp() {
+        int acc = 0;
+        for (float p : progress) {
+            acc ^= ColorUtil.lerp(FROM, TO, p);
+        }
+        return acc;
+    }
+
+    @Benchmark
+    public int rampLookup() {
+        int acc = 0;
+        for (float p : progress) {
+            acc ^= ramp.get(p);
+        }
+        return acc;
+    }
+
+    /**
+     * UIPanel.interpolateColor before it was moved to ColorUtil.
+     */
+    private static int legacyInterpolateColor(int color1, int color2, float progress) {
+        if (progress <= 0) return color1;
+        if (progress >= 1) return color2;
+
+        int a1 = (color1 >> 24) & 0xFF;
+        int r1 = (color1 >> 16) & 0xFF;
+        int g1 = (color1 >> 8) & 0xFF;
+        int b1 = color1 & 0xFF;
+
+        int a2 = (color2 >> 24) & 0xFF;
+        int r2 = (color2 >> 16) & 0xFF;
+        int g2 = (color2 >> 8) & 0xFF;
+        int b2 = color2 & 0xFF;
+
+        int a = (int)(a1 + (a2 - a1) * progress);
+        int r = (int)(r1 + (r2 - r1) * progress);
+        int g = (int)(g1 + (g2 - g1) * progress);
+        int b = (int)(b1 + (b2 - b1) * progress);
+
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+}
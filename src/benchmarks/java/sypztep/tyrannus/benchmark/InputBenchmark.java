@@ -0,0 +1,115 @@
+package sypztep.tyrannus.benchmark;
+
+import net.minecraft.text.Text;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sypztep.tyrannus.client.screen.BaseScreen;
+import sypztep.tyrannus.client.screen.panel.NavBar;
+import sypztep.tyrannus.client.screen.panel.UIPanel;
+import sypztep.tyrannus.headless.Headless;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mouse input: {@link BaseScreen} click dispatch over a grid of panels, against a
+ * linear scan of the panel list, and {@link NavBar} hit testing with many items.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputBenchmark {
+    private static final int CELL = 24;
+    private static final int POINTS = 1024;
+
+    @Param({"16", "256", "1024"})
+    public int panels;
+
+    private GridScreen screen;
+    private NavBar navBar;
+    private final double[] pointsX = new double[POINTS];
+    private final double[] pointsY = new double[POINTS];
+    private int cursor = 0;
+
+    @Setup
+    public void setup() {
+        Headless.client();
+
+        int columns = (int) Math.ceil(Math.sqrt(panels));
+        screen = new GridScreen();
+        for (int i = 0; i < panels; i++) {
+            screen.addPanel(new UIPanel((i % columns) * CELL, (i / columns) * CELL, CELL - 2, CELL - 2, null));
+        }
+
+        navBar = new NavBar(0, 0, 400, 30);
+        for (int i = 0; i < 60; i++) {
+            navBar.addItem("item" + i, Text.literal("Item " + i), id -> {});
+        }
+
+        Random random = new Random(42);
+        int extent = columns * CELL;
+        for (int i = 0; i < POINTS; i++) {
+            pointsX[i] = random.nextDouble() * extent;
+            pointsY[i] = random.nextDouble() * extent;
+        }
+    }
+
+    @Benchmark
+    public boolean screenDispatch() {
+        int i = next();
+        return screen.mouseClicked(pointsX[i], pointsY[i], 0);
+    }
+
+    /**
+     * The dispatch loop BaseScreen used before the hit index.
+     */
+    @Benchmark
+    public boolean linearDispatch() {
+        int i = next();
+        for (UIPanel panel : screen.panels()) {
+            if (panel.mouseClicked(pointsX[i], pointsY[i], 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean navBarHitTest() {
+        int i = next();
+        // Clicked items are already in view, so selecting them does not scroll the bar
+        return navBar.mouseClicked(pointsX[i] % 400, 15, 0);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (POINTS - 1);
+        return cursor;
+    }
+
+    private static final class GridScreen extends BaseScreen {
+        GridScreen() {
+            super(Text.literal("Benchmark"));
+        }
+
+        List<UIPanel> panels() {
+            return screenLayer.getPanels();
+        }
+
+        @Override
+        protected void initPanels() {
+        }
+    }
+}
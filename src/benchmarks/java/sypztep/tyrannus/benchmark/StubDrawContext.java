@@ -0,0 +1,75 @@
+package sypztep.tyrannus.benchmark;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.text.OrderedText;
+import org.jetbrains.annotations.Nullable;
+import sypztep.tyrannus.headless.CountingVertexConsumers;
+import sypztep.tyrannus.headless.RecordingDrawContext;
+
+/**
+ * A draw context that counts draw calls and discards vertices, so render code runs without a GPU.
+ * Unlike {@link RecordingDrawContext} it allocates nothing per call, which keeps it out of the measurements.
+ */
+final class StubDrawContext extends DrawContext {
+    private final CountingVertexConsumers vertexConsumers;
+
+    int fills;
+    int texts;
+    int draws;
+    int vertices;
+
+    StubDrawContext(MinecraftClient client) {
+        this(client, new CountingVertexConsumers());
+    }
+
+    private StubDrawContext(MinecraftClient client, CountingVertexConsumers vertexConsumers) {
+        super(client, vertexConsumers);
+        this.vertexConsumers = vertexConsumers;
+    }
+
+    @Override
+    public void fill(RenderLayer layer, int x1, int y1, int x2, int y2, int z, int color) {
+        fills++;
+    }
+
+    @Override
+    public void fillGradient(RenderLayer layer, int startX, int startY, int endX, int endY, int colorStart, int colorEnd, int z) {
+        fills++;
+    }
+
+    @Override
+    public int drawText(TextRenderer textRenderer, @Nullable String text, int x, int y, int color, boolean shadow) {
+        texts++;
+        return x;
+    }
+
+    @Override
+    public int drawText(TextRenderer textRenderer, OrderedText text, int x, int y, int color, boolean shadow) {
+        texts++;
+        return x;
+    }
+
+    @Override
+    public void enableScissor(int x1, int y1, int x2, int y2) {
+    }
+
+    @Override
+    public void disableScissor() {
+    }
+
+    @Override
+    public void draw() {
+        draws++;
+        vertices += vertexConsumers.takeVertexCount();
+    }
+
+    /**
+     * Consume the counters so they do not get optimized away.
+     */
+    int checksum() {
+        return fills + texts + draws + vertices;
+    }
+}
@@ -0,0 +1,150 @@
+package sypztep.tyrannus.benchmark;
+
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.text.Text;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sypztep.tyrannus.client.screen.panel.InfoPanel;
+import sypztep.tyrannus.client.screen.panel.ScrollablePanel;
+import sypztep.tyrannus.headless.Headless;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text layout: {@code ScrollablePanel.wrapText} against the original split-and-measure
+ * wrapping, and {@link InfoPanel} content height and rendering for a growing number of paragraphs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextBenchmark {
+    private static final String PARAGRAPH = "The ancient tyrant's fortress stood silent for a thousand years, " +
+            "until the wandering knights returned with the broken crown and a map of the lower halls. " +
+            "Whoever carries the crown past the gate will hear the old bells ring again.";
+
+    @Param({"10", "200"})
+    public int paragraphs;
+
+    private TextRenderer textRenderer;
+    private WrappingPanel wrappingPanel;
+    private BenchInfoPanel infoPanel;
+    private StubDrawContext context;
+
+    @Setup
+    public void setup() {
+        textRenderer = Headless.client().textRenderer;
+        context = new StubDrawContext(Headless.client());
+        wrappingPanel = new WrappingPanel();
+
+        infoPanel = new BenchInfoPanel();
+        for (int i = 0; i < paragraphs; i++) {
+            infoPanel.addParagraph(Text.literal(PARAGRAPH));
+        }
+        infoPanel.scrollTo(infoPanel.totalHeight() / 2.0);
+    }
+
+    @Benchmark
+    public int wrapText() {
+        return wrappingPanel.wrap(PARAGRAPH, 180).size();
+    }
+
+    @Benchmark
+    public int legacyWrapText() {
+        return legacyWrapText(PARAGRAPH, 180).size();
+    }
+
+    /**
+     * Build a panel and add every paragraph, keeping the content height up to date.
+     */
+    @Benchmark
+    public int infoPanelContentHeight() {
+        BenchInfoPanel panel = new BenchInfoPanel();
+        for (int i = 0; i < paragraphs; i++) {
+            panel.addParagraph(Text.literal(PARAGRAPH));
+        }
+        return panel.totalHeight();
+    }
+
+    /**
+     * Render one frame of a panel scrolled to the middle of its content.
+     */
+    @Benchmark
+    public int infoPanelRender() {
+        infoPanel.render(context, -1, -1, 0);
+        return context.checksum();
+    }
+
+    /**
+     * ScrollablePanel.wrapText before it used the word wrapper.
+     */
+    private List<String> legacyWrapText(String text, int maxWidth) {
+        List<String> lines = new ArrayList<>();
+        String[] words = text.split(" ");
+        StringBuilder currentLine = new StringBuilder();
+
+        for (String word : words) {
+            String testLine = currentLine.toString().isEmpty()
+                    ? word
+                    : currentLine + " " + word;
+
+            if (textRenderer.getWidth(testLine) <= maxWidth) {
+                if (!currentLine.isEmpty()) {
+                    currentLine.append(" ");
+                }
+                currentLine.append(word);
+            } else {
+                lines.add(currentLine.toString());
+                currentLine = new StringBuilder(word);
+            }
+        }
+
+        if (!currentLine.isEmpty()) {
+            lines.add(currentLine.toString());
+        }
+
+        return lines;
+    }
+
+    private static final class WrappingPanel extends ScrollablePanel {
+        WrappingPanel() {
+            super(0, 0, 200, 200, null);
+        }
+
+        List<String> wrap(String text, int maxWidth) {
+            return wrapText(text, maxWidth);
+        }
+
+        @Override
+        protected void renderScrollableContent(DrawContext context, int mouseX, int mouseY, float delta) {
+        }
+    }
+
+    private static final class BenchInfoPanel extends InfoPanel {
+        BenchInfoPanel() {
+            super(0, 0, 300, 240, Text.literal("Lore"));
+        }
+
+        int totalHeight() {
+            return contentTotalHeight;
+        }
+
+        void scrollTo(double amount) {
+            scrollAmount = Math.min(amount, maxScroll);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package sypztep.tyrannus.headless;
+
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.VertexConsumer;
+import net.minecraft.client.render.VertexConsumerProvider;
+
+import java.util.LinkedHashMap;
+
+/**
+ * Vertex consumers that count the vertices written to any layer and discard them.
+ */
+public final class CountingVertexConsumers extends VertexConsumerProvider.Immediate {
+    private int vertices = 0;
+
+    private final VertexConsumer consumer = new VertexConsumer() {
+        @Override
+        public VertexConsumer vertex(float x, float y, float z) {
+            vertices++;
+            return this;
+        }
+
+        @Override
+        public VertexConsumer color(int red, int green, int blue, int alpha) {
+            return this;
+        }
+
+        @Override
+        public VertexConsumer texture(float u, float v) {
+            return this;
+        }
+
+        @Override
+        public VertexConsumer overlay(int u, int v) {
+            return this;
+        }
+
+        @Override
+        public VertexConsumer light(int u, int v) {
+            return this;
+        }
+
+        @Override
+        public VertexConsumer normal(float x, float y, float z) {
+            return this;
+        }
+    };
+
+    public CountingVertexConsumers() {
+        super(null, new LinkedHashMap<>());
+    }
+
+    /**
+     * Get the vertices written since the last call, and start counting from zero.
+     */
+    public int takeVertexCount() {
+        int count = vertices;
+        vertices = 0;
+        return count;
+    }
+
+    @Override
+    public VertexConsumer getBuffer(RenderLayer layer) {
+        return consumer;
+    }
+
+    @Override
+    public void draw() {
+    }
+}
@@ -0,0 +1,31 @@
+package sypztep.tyrannus.headless;
+
+import org.jetbrains.annotations.Nullable;
+import sypztep.tyrannus.client.render.QuadBatcher;
+
+/**
+ * One command captured by a {@link RecordingDrawContext}.
+ * <p>
+ * Coordinates are the ones passed by the caller, before the matrix stack is applied,
+ * except for {@link Type#BATCH} which has no bounds. {@code count} is the number of
+ * quads in a batch, {@code detail} the drawn string or texture id.
+ */
+public record DrawCommand(Type type, int x1, int y1, int x2, int y2, int color, int count, @Nullable String detail) {
+    public enum Type {
+        FILL,
+        GRADIENT,
+        TEXT,
+        TEXTURE,
+        SCISSOR_PUSH,
+        SCISSOR_POP,
+        /** Vertices submitted through the vertex consumers, e.g. by the {@link QuadBatcher}. */
+        BATCH;
+
+        /**
+         * Whether the command costs a draw call on a real context.
+         */
+        public boolean isDraw() {
+            return this != SCISSOR_PUSH && this != SCISSOR_POP;
+        }
+    }
+}
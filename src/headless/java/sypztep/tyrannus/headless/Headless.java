@@ -0,0 +1,89 @@
+package sypztep.tyrannus.headless;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.FontStorage;
+import net.minecraft.client.font.Glyph;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.util.Identifier;
+import org.objenesis.ObjenesisStd;
+import sypztep.tyrannus.client.render.QuadBatcher;
+import sypztep.tyrannus.client.screen.panel.UIPanel;
+
+import java.lang.reflect.Field;
+
+/**
+ * Sets up just enough client state to construct panels without a window or GPU.
+ * <p>
+ * The client instance is allocated with Objenesis, without running its constructor, and
+ * given a text renderer backed by a fixed-advance font, so widths are measured through the
+ * real {@link TextRenderer} and text handler code paths. Shared by the tests and the benchmarks.
+ */
+public final class Headless {
+    private static MinecraftClient client;
+
+    private Headless() {
+    }
+
+    /**
+     * Install the stub client, once per JVM.
+     */
+    public static synchronized MinecraftClient client() {
+        if (client != null) return client;
+        try {
+            MinecraftClient stub = new ObjenesisStd().newInstance(MinecraftClient.class);
+            FontStorage font = new FixedFontStorage();
+            setField(MinecraftClient.class, "textRenderer", stub, new TextRenderer(id -> font, false));
+            setField(MinecraftClient.class, "instance", null, stub);
+            client = stub;
+            return client;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to set up the headless client", e);
+        }
+    }
+
+    /**
+     * Create a draw context that records calls instead of drawing.
+     */
+    public static RecordingDrawContext drawContext() {
+        return new RecordingDrawContext(client());
+    }
+
+    /**
+     * Render one frame of a panel, with the mouse away from it, and get what it drew.
+     */
+    public static RecordingDrawContext renderFrame(UIPanel panel) {
+        RecordingDrawContext context = drawContext();
+        panel.renderFrame(context, -1000, -1000, 0.0f);
+        QuadBatcher.endFrame(context);
+        return context;
+    }
+
+    private static void setField(Class<?> owner, String name, Object target, Object value) throws ReflectiveOperationException {
+        Field field = owner.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    /**
+     * A font with the rough proportions of the vanilla one: narrow punctuation, wide letters.
+     */
+    private static final class FixedFontStorage extends FontStorage {
+        // Empty glyphs only carry an advance, nothing is ever baked
+        private static final Glyph NARROW = (Glyph.EmptyGlyph) () -> 2.0f;
+        private static final Glyph SPACE = (Glyph.EmptyGlyph) () -> 4.0f;
+        private static final Glyph WIDE = (Glyph.EmptyGlyph) () -> 6.0f;
+
+        FixedFontStorage() {
+            super(null, Identifier.of("tyrannus", "headless"));
+        }
+
+        @Override
+        public Glyph getGlyph(int codePoint, boolean validateAdvance) {
+            return switch (codePoint) {
+                case ' ' -> SPACE;
+                case 'i', 'l', '.', ',', '\'', '!', '|' -> NARROW;
+                default -> WIDE;
+            };
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package sypztep.tyrannus.headless;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.text.OrderedText;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+import sypztep.tyrannus.client.render.QuadBatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A draw context that records commands instead of drawing them, for measuring render
+ * cost without a window or GPU.
+ * <p>
+ * Fills, gradients, text, textures and scissor changes are captured with their
+ * arguments. Vertices written to the vertex consumers are counted and captured as a
+ * single {@link DrawCommand.Type#BATCH} when {@link #draw()} is called, which is how
+ * {@link QuadBatcher} submits. Text widths are measured with the given text renderer,
+ * so it has to work headless as well.
+ */
+public class RecordingDrawContext extends DrawContext {
+    private final List<DrawCommand> commands = new ArrayList<>();
+    private final CountingVertexConsumers vertexConsumers;
+    private int scissorDepth = 0;
+
+    public RecordingDrawContext(@Nullable MinecraftClient client) {
+        this(client, new CountingVertexConsumers());
+    }
+
+    private RecordingDrawContext(@Nullable MinecraftClient client, CountingVertexConsumers vertexConsumers) {
+        super(client, vertexConsumers);
+        this.vertexConsumers = vertexConsumers;
+    }
+
+    /**
+     * Get the recorded commands, in order.
+     */
+    public List<DrawCommand> getCommands() {
+        return Collections.unmodifiableList(commands);
+    }
+
+    /**
+     * Count the recorded commands of a type.
+     */
+    public int count(DrawCommand.Type type) {
+        int count = 0;
+        for (DrawCommand command : commands) {
+            if (command.type() == type) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Count the recorded commands that would cost a draw call.
+     */
+    public int getDrawCallCount() {
+        int count = 0;
+        for (DrawCommand command : commands) {
+            if (command.type().isDraw()) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Fail if more draw calls were recorded than allowed, for draw-call regression checks.
+     *
+     * @throws IllegalStateException listing the recorded command counts
+     */
+    public void requireDrawCallsAtMost(int max) {
+        int draws = getDrawCallCount();
+        if (draws > max) {
+            StringBuilder message = new StringBuilder("Expected at most " + max + " draw calls, recorded " + draws + " (");
+            for (DrawCommand.Type type : DrawCommand.Type.values()) {
+                if (type.isDraw()) message.append(type).append('=').append(count(type)).append(' ');
+            }
+            throw new IllegalStateException(message.toString().trim() + ")");
+        }
+    }
+
+    /**
+     * Current scissor nesting, 0 when balanced.
+     */
+    public int getScissorDepth() {
+        return scissorDepth;
+    }
+
+    /**
+     * Forget the recorded commands and any unsubmitted vertices.
+     */
+    public void reset() {
+        commands.clear();
+        vertexConsumers.takeVertexCount();
+        scissorDepth = 0;
+    }
+
+    private void record(DrawCommand.Type type, int x1, int y1, int x2, int y2, int color, int count, @Nullable String detail) {
+        commands.add(new DrawCommand(type, x1, y1, x2, y2, color, count, detail));
+    }
+
+    @Override
+    public void fill(RenderLayer layer, int x1, int y1, int x2, int y2, int z, int color) {
+        record(DrawCommand.Type.FILL, Math.min(x1, x2), Math.min(y1, y2), Math.max(x1, x2), Math.max(y1, y2), color, 1, null);
+    }
+
+    @Override
+    public void fillGradient(RenderLayer layer, int startX, int startY, int endX, int endY, int colorStart, int colorEnd, int z) {
+        record(DrawCommand.Type.GRADIENT, startX, startY, endX, endY, colorStart, 1, null);
+    }
+
+    @Override
+    public int drawText(TextRenderer textRenderer, @Nullable String text, int x, int y, int color, boolean shadow) {
+        if (text == null) return 0;
+        int width = textRenderer.getWidth(text);
+        record(DrawCommand.Type.TEXT, x, y, x + width, y + textRenderer.fontHeight, color, 1, text);
+        return x + width + (shadow ? 1 : 0);
+    }
+
+    @Override
+    public int drawText(TextRenderer textRenderer, OrderedText text, int x, int y, int color, boolean shadow) {
+        StringBuilder builder = new StringBuilder();
+        text.accept((index, style, codePoint) -> {
+            builder.appendCodePoint(codePoint);
+            return true;
+        });
+        int width = textRenderer.getWidth(text);
+        record(DrawCommand.Type.TEXT, x, y, x + width, y + textRenderer.fontHeight, color, 1, builder.toString());
+        return x + width + (shadow ? 1 : 0);
+    }
+
+    @Override
+    public void drawTexture(Identifier texture, int x, int y, int z, float u, float v, int width, int height, int textureWidth, int textureHeight) {
+        record(DrawCommand.Type.TEXTURE, x, y, x + width, y + height, 0xFFFFFFFF, 1, texture.toString());
+    }
+
+    @Override
+    public void drawTexture(Identifier texture, int x, int y, int width, int height, float u, float v, int regionWidth, int regionHeight, int textureWidth, int textureHeight) {
+        record(DrawCommand.Type.TEXTURE, x, y, x + width, y + height, 0xFFFFFFFF, 1, texture.toString());
+    }
+
+    @Override
+    public void drawGuiTexture(Identifier texture, int x, int y, int z, int width, int height) {
+        record(DrawCommand.Type.TEXTURE, x, y, x + width, y + height, 0xFFFFFFFF, 1, texture.toString());
+    }
+
+    @Override
+    public void enableScissor(int x1, int y1, int x2, int y2) {
+        scissorDepth++;
+        record(DrawCommand.Type.SCISSOR_PUSH, x1, y1, x2, y2, 0, 1, null);
+    }
+
+    @Override
+    public void disableScissor() {
+        if (scissorDepth == 0) {
+            throw new IllegalStateException("Scissor stack underflow");
+        }
+        scissorDepth--;
+        record(DrawCommand.Type.SCISSOR_POP, 0, 0, 0, 0, 0, 1, null);
+    }
+
+    @Override
+    public void draw() {
+        int vertices = vertexConsumers.takeVertexCount();
+        if (vertices > 0) {
+            record(DrawCommand.Type.BATCH, 0, 0, 0, 0, 0, vertices / 4, null);
+        }
+    }
+}
@@ -3,24 +3,58 @@ package sypztep.tyrannus;
 import net.fabricmc.api.ClientModInitializer;
 
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
+import net.fabricmc.fabric.api.client.screen.v1.ScreenEvents;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.option.KeyBinding;
 import net.minecraft.client.util.InputUtil;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
 import org.lwjgl.glfw.GLFW;
+import sypztep.tyrannus.client.debug.PerfOverlay;
+import sypztep.tyrannus.client.debug.TileCacheCheck;
 import sypztep.tyrannus.client.screen.TestScreen;
+import sypztep.tyrannus.client.text.TextMetricsCache;
+import sypztep.tyrannus.client.text.WordWrapper;
+import sypztep.tyrannus.client.tooltip.TooltipManager;
 
 public class TyrannusClient implements ClientModInitializer {
     public static KeyBinding stats_screen = new KeyBinding("key.dominatus.debug", InputUtil.Type.KEYSYM, GLFW.GLFW_KEY_I, "category.dominatus.keybind");
+    public static KeyBinding perf_overlay = new KeyBinding("key.dominatus.perf_overlay", InputUtil.Type.KEYSYM, GLFW.GLFW_KEY_O, "category.dominatus.keybind");
 
     @Override
     public void onInitializeClient() {
+        ResourceManagerHelper.get(ResourceType.CLIENT_RESOURCES).registerReloadListener(new SimpleSynchronousResourceReloadListener() {
+            @Override
+            public Identifier getFabricId() {
+                return Identifier.of(Tyrannus.MODID, "text_metrics");
+            }
+
+            @Override
+            public void reload(ResourceManager manager) {
+                TextMetricsCache.invalidate();
+                WordWrapper.invalidateWidths();
+            }
+        });
+
+        ScreenEvents.AFTER_INIT.register((client, screen, scaledWidth, scaledHeight) -> TooltipManager.attach(screen));
+
         if (FabricLoader.getInstance().isDevelopmentEnvironment()) {
+            KeyBindingHelper.registerKeyBinding(stats_screen);
+            KeyBindingHelper.registerKeyBinding(perf_overlay);
             ClientTickEvents.END_CLIENT_TICK.register(TyrannusClient::onEndTick);
         }
+        if (TileCacheCheck.ENABLED) {
+            ClientTickEvents.END_CLIENT_TICK.register(TileCacheCheck::onEndTick);
+        }
     }
 
     private static void onEndTick(MinecraftClient client) {
         if (stats_screen.wasPressed()) client.setScreen(new TestScreen());
+        while (perf_overlay.wasPressed()) PerfOverlay.toggle();
     }
 }
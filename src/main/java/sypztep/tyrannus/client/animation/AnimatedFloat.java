@@ -0,0 +1,105 @@
+package sypztep.tyrannus.client.animation;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+/**
+ * A float value that moves towards its target over real time.
+ * <p>
+ * Reading the value is free. Only animations that are still moving are ticked by the
+ * {@link AnimationScheduler}; once the target is reached the value is dropped from
+ * the scheduler until the next {@link #animateTo} with a different target.
+ */
+@Environment(EnvType.CLIENT)
+public final class AnimatedFloat {
+    private final Easing easing;
+    private final long defaultDurationMs;
+
+    private float value;
+    private float from;
+    private float target;
+    private long durationMs;
+    private long startTimeMs = -1; // -1 = start on the next scheduler tick
+    boolean scheduled = false;
+
+    public AnimatedFloat(float initial, long durationMs, Easing easing) {
+        this.value = initial;
+        this.from = initial;
+        this.target = initial;
+        this.defaultDurationMs = durationMs;
+        this.durationMs = durationMs;
+        this.easing = easing;
+    }
+
+    public AnimatedFloat(float initial, long durationMs) {
+        this(initial, durationMs, Easing.EASE_OUT_QUAD);
+    }
+
+    /**
+     * Animate towards a target using the default duration.
+     */
+    public void animateTo(float target) {
+        animateTo(target, defaultDurationMs);
+    }
+
+    /**
+     * Animate towards a target. Does nothing if this is already the target.
+     */
+    public void animateTo(float target, long durationMs) {
+        if (target == this.target) return;
+
+        this.from = value;
+        this.target = target;
+        this.durationMs = durationMs;
+        this.startTimeMs = -1;
+
+        if (durationMs <= 0) {
+            value = target;
+            return;
+        }
+        AnimationScheduler.schedule(this);
+    }
+
+    /**
+     * Jump to a value without animating.
+     */
+    public void set(float value) {
+        this.value = value;
+        this.from = value;
+        this.target = value;
+        AnimationScheduler.cancel(this);
+    }
+
+    /**
+     * Advance the animation.
+     *
+     * @return true once the target has been reached
+     */
+    boolean tick(long nowMs) {
+        if (startTimeMs < 0) {
+            startTimeMs = nowMs;
+        }
+
+        long elapsed = nowMs - startTimeMs;
+        if (elapsed >= durationMs) {
+            value = target;
+            return true;
+        }
+
+        float t = easing.apply(elapsed / (float)durationMs);
+        value = from + (target - from) * t;
+        return false;
+    }
+
+    public float get() {
+        return value;
+    }
+
+    public float getTarget() {
+        return target;
+    }
+
+    public boolean isSettled() {
+        return !scheduled;
+    }
+}
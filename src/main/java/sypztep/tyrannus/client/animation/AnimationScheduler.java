@@ -0,0 +1,72 @@
+package sypztep.tyrannus.client.animation;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.util.Util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drives every {@link AnimatedFloat} from real elapsed time.
+ * <p>
+ * Only moving animations are kept in the active set, so a screen where nothing
+ * animates does no animation work at all. {@link #tick()} is called once per frame
+ * by {@link sypztep.tyrannus.client.screen.BaseScreen}.
+ */
+@Environment(EnvType.CLIENT)
+public final class AnimationScheduler {
+    private static final List<AnimatedFloat> active = new ArrayList<>();
+
+    private AnimationScheduler() {
+    }
+
+    /**
+     * Advance all active animations to the current time.
+     */
+    public static void tick() {
+        tick(Util.getMeasuringTimeMs());
+    }
+
+    /**
+     * Advance all active animations to the given time.
+     */
+    public static void tick(long nowMs) {
+        for (int i = active.size() - 1; i >= 0; i--) {
+            AnimatedFloat animation = active.get(i);
+            if (animation.tick(nowMs)) {
+                removeAt(i);
+            }
+        }
+    }
+
+    /**
+     * Number of animations that are still moving.
+     */
+    public static int getActiveCount() {
+        return active.size();
+    }
+
+    static void schedule(AnimatedFloat animation) {
+        if (!animation.scheduled) {
+            animation.scheduled = true;
+            active.add(animation);
+        }
+    }
+
+    static void cancel(AnimatedFloat animation) {
+        if (animation.scheduled) {
+            int index = active.indexOf(animation);
+            if (index >= 0) removeAt(index);
+        }
+    }
+
+    // Order does not matter, so swap the last element in instead of shifting
+    private static void removeAt(int index) {
+        AnimatedFloat removed = active.get(index);
+        removed.scheduled = false;
+        int last = active.size() - 1;
+        active.set(index, active.get(last));
+        active.remove(last);
+    }
+}
@@ -0,0 +1,37 @@
+package sypztep.tyrannus.client.animation;
+
+/**
+ * Easing curves mapping linear progress (0.0 to 1.0) to eased progress.
+ */
+public enum Easing {
+    LINEAR {
+        @Override
+        public float apply(float t) {
+            return t;
+        }
+    },
+    EASE_OUT_QUAD {
+        @Override
+        public float apply(float t) {
+            float inv = 1 - t;
+            return 1 - inv * inv;
+        }
+    },
+    EASE_OUT_CUBIC {
+        @Override
+        public float apply(float t) {
+            float inv = 1 - t;
+            return 1 - inv * inv * inv;
+        }
+    },
+    EASE_IN_OUT_QUAD {
+        @Override
+        public float apply(float t) {
+            if (t < 0.5f) return 2 * t * t;
+            float inv = -2 * t + 2;
+            return 1 - inv * inv / 2;
+        }
+    };
+
+    public abstract float apply(float t);
+}
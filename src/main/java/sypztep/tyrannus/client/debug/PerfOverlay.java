@@ -0,0 +1,351 @@
+package sypztep.tyrannus.client.debug;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+import sypztep.tyrannus.TyrannusClient;
+import sypztep.tyrannus.client.pool.WidgetPool;
+import sypztep.tyrannus.client.pool.WidgetPools;
+import sypztep.tyrannus.client.render.QuadBatcher;
+import sypztep.tyrannus.client.screen.panel.UIPanel;
+import sypztep.tyrannus.client.screen.tab.Tab;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Development overlay showing what a {@link sypztep.tyrannus.client.screen.BaseScreen} costs.
+ * <p>
+ * While enabled, the screen reports the CPU time spent rendering each panel and the
+ * active tab, the draw calls issued through the {@link DrawContext} (counted by a
+ * mixin), scissor pushes, bytes allocated on the render thread and a rolling graph of
+ * frame times. Panels whose smoothed render time exceeds the budget are outlined in red.
+ * The budget defaults to 500 microseconds and can be set with the
+ * {@code tyrannus.perf.panelBudgetMicros} system property or {@link #setPanelBudgetMicros}.
+ * <p>
+ * Times are measured on the CPU; batched quads are attributed to the panel that flushes them.
+ */
+@Environment(EnvType.CLIENT)
+public final class PerfOverlay {
+    private static final int GRAPH_FRAMES = 240;
+    private static final int GRAPH_HEIGHT = 40;
+    private static final int MAX_LISTED_PANELS = 12;
+    private static final float SMOOTHING = 0.1f; // Weight of the newest sample in the moving averages
+    private static final long TARGET_FRAME_NANOS = 16_666_667L;
+
+    private static final int BG_COLOR = 0xC0000000;
+    private static final int TEXT_COLOR = 0xFFFFFFFF;
+    private static final int LABEL_COLOR = 0xFFAAAAAA;
+    private static final int OVER_BUDGET_COLOR = 0xFFFF5555;
+    private static final int OVER_BUDGET_TINT = 0x30FF0000;
+    private static final int BAR_COLOR = 0xFF55FF55;
+    private static final int SLOW_BAR_COLOR = 0xFFFFAA00;
+    private static final int TARGET_LINE_COLOR = 0x80FFFFFF;
+
+    private static boolean enabled = false;
+    private static boolean recording = false;
+    private static long panelBudgetNanos = Long.getLong("tyrannus.perf.panelBudgetMicros", 500L) * 1000L;
+
+    // Draw calls counted during the current frame, and their totals for the last frame
+    private static int fills, texts, textures, scissors;
+    private static int lastFills, lastTexts, lastTextures, lastScissors;
+    private static int lastBatchedDraws, lastBatchedQuads;
+
+    // Rolling frame times, measured between successive screen renders
+    private static final long[] frameTimes = new long[GRAPH_FRAMES];
+    private static final long[] sortedFrameTimes = new long[GRAPH_FRAMES];
+    private static int frameCursor = 0;
+    private static int frameSamples = 0;
+    private static long lastFrameStart = 0;
+    private static long frameStart = 0;
+    private static float screenNanos = 0;
+
+    // Bytes allocated by the render thread while the screen renders
+    private static final com.sun.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean()
+            instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported() ? bean : null;
+    private static long allocationStart = 0;
+    private static float allocatedPerFrame = 0;
+    private static float allocatedPerSecond = 0;
+
+    // Smoothed render time per panel, entries for panels no longer rendered are dropped
+    private static final Map<UIPanel, PanelStats> panels = new IdentityHashMap<>();
+    private static final List<PanelStats> sortedPanels = new ArrayList<>();
+    private static final Comparator<PanelStats> SLOWEST_FIRST = (a, b) -> Float.compare(b.nanos, a.nanos);
+    private static long frameIndex = 0;
+
+    // The active tab: its own render time plus the time of its panels
+    private static String tabName;
+    private static float tabNanos = 0;
+
+    private PerfOverlay() {
+    }
+
+    /**
+     * Toggle the overlay if the key is the overlay key binding. Only available in a development environment.
+     *
+     * @return true if the key was handled
+     */
+    public static boolean handleKey(int keyCode, int scanCode) {
+        if (FabricLoader.getInstance().isDevelopmentEnvironment() && TyrannusClient.perf_overlay.matchesKey(keyCode, scanCode)) {
+            toggle();
+            return true;
+        }
+        return false;
+    }
+
+    public static void toggle() {
+        enabled = !enabled;
+        panels.clear();
+        frameSamples = 0;
+        frameCursor = 0;
+        lastFrameStart = 0;
+        tabName = null;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setPanelBudgetMicros(long micros) {
+        panelBudgetNanos = micros * 1000L;
+    }
+
+    /**
+     * Start measuring a screen frame.
+     */
+    public static void beginFrame() {
+        if (!enabled) return;
+        recording = true;
+        frameIndex++;
+        fills = texts = textures = scissors = 0;
+
+        frameStart = System.nanoTime();
+        if (lastFrameStart != 0) {
+            frameTimes[frameCursor] = frameStart - lastFrameStart;
+            frameCursor = (frameCursor + 1) % GRAPH_FRAMES;
+            frameSamples = Math.min(frameSamples + 1, GRAPH_FRAMES);
+        }
+        lastFrameStart = frameStart;
+
+        if (threadBean != null) {
+            allocationStart = threadBean.getCurrentThreadAllocatedBytes();
+        }
+    }
+
+    /**
+     * Start measuring a panel or tab.
+     *
+     * @return the start time to pass to {@link #endPanel} or {@link #endTab}, 0 when not recording
+     */
+    public static long begin() {
+        return recording ? System.nanoTime() : 0;
+    }
+
+    public static void endPanel(UIPanel panel, long start) {
+        if (!recording) return;
+        long elapsed = System.nanoTime() - start;
+
+        PanelStats stats = panels.get(panel);
+        if (stats == null) {
+            stats = new PanelStats(panel);
+            stats.nanos = elapsed;
+            panels.put(panel, stats);
+        } else {
+            stats.nanos += (elapsed - stats.nanos) * SMOOTHING;
+        }
+        stats.lastFrame = frameIndex;
+    }
+
+    /**
+     * Record the active tab. Its total includes the panels it owns.
+     */
+    public static void endTab(Tab tab, long start) {
+        if (!recording) return;
+        float total = System.nanoTime() - start;
+        for (UIPanel panel : tab.getPanels()) {
+            PanelStats stats = panels.get(panel);
+            if (stats != null && stats.lastFrame == frameIndex) total += stats.nanos;
+        }
+
+        if (!tab.getId().equals(tabName)) {
+            tabName = tab.getId();
+            tabNanos = total;
+        } else {
+            tabNanos += (total - tabNanos) * SMOOTHING;
+        }
+    }
+
+    /**
+     * Stop measuring the frame. Draws after this call are not counted.
+     */
+    public static void endFrame() {
+        if (!recording) return;
+        recording = false;
+
+        long elapsed = System.nanoTime() - frameStart;
+        screenNanos += (elapsed - screenNanos) * SMOOTHING;
+
+        lastFills = fills;
+        lastTexts = texts;
+        lastTextures = textures;
+        lastScissors = scissors;
+        lastBatchedDraws = QuadBatcher.getLastFrameDraws();
+        lastBatchedQuads = QuadBatcher.getLastFrameQuads();
+
+        if (threadBean != null) {
+            long allocated = threadBean.getCurrentThreadAllocatedBytes() - allocationStart;
+            allocatedPerFrame += (allocated - allocatedPerFrame) * SMOOTHING;
+            long frameTime = frameSamples > 0 ? frameTimes[(frameCursor + GRAPH_FRAMES - 1) % GRAPH_FRAMES] : 0;
+            if (frameTime > 0) {
+                float perSecond = allocated * (1_000_000_000f / frameTime);
+                allocatedPerSecond += (perSecond - allocatedPerSecond) * SMOOTHING;
+            }
+        }
+
+        panels.values().removeIf(PerfOverlay::isStale);
+    }
+
+    private static boolean isStale(PanelStats stats) {
+        return stats.lastFrame != frameIndex;
+    }
+
+    // Counters fed by DrawContextMixin
+
+    public static void countFill() {
+        fills++;
+    }
+
+    public static void countText() {
+        texts++;
+    }
+
+    public static void countTexture() {
+        textures++;
+    }
+
+    public static void countScissor() {
+        scissors++;
+    }
+
+    /**
+     * Draw the overlay on top of the screen.
+     */
+    public static void render(DrawContext context, int screenWidth) {
+        if (!enabled) return;
+        TextRenderer textRenderer = MinecraftClient.getInstance().textRenderer;
+
+        // Outline panels over budget
+        for (PanelStats stats : panels.values()) {
+            if (stats.nanos > panelBudgetNanos) {
+                UIPanel panel = stats.panel;
+                int x1 = panel.getX(), y1 = panel.getY();
+                int x2 = x1 + panel.getWidth(), y2 = y1 + panel.getHeight();
+                QuadBatcher.fill(context, x1, y1, x2, y2, OVER_BUDGET_TINT);
+                QuadBatcher.fill(context, x1, y1, x2, y1 + 1, OVER_BUDGET_COLOR);
+                QuadBatcher.fill(context, x1, y2 - 1, x2, y2, OVER_BUDGET_COLOR);
+                QuadBatcher.fill(context, x1, y1, x1 + 1, y2, OVER_BUDGET_COLOR);
+                QuadBatcher.fill(context, x2 - 1, y1, x2, y2, OVER_BUDGET_COLOR);
+            }
+        }
+
+        sortedPanels.clear();
+        sortedPanels.addAll(panels.values());
+        sortedPanels.sort(SLOWEST_FIRST);
+        int listed = Math.min(MAX_LISTED_PANELS, sortedPanels.size());
+
+        int lineHeight = textRenderer.fontHeight + 1;
+        int boxWidth = GRAPH_FRAMES + 8;
+        int boxHeight = 4 + lineHeight * (5 + WidgetPools.getAll().size() + listed) + 4 + GRAPH_HEIGHT + 4;
+        int left = screenWidth - boxWidth - 4;
+        int top = 4;
+        QuadBatcher.fill(context, left, top, left + boxWidth, top + boxHeight, BG_COLOR);
+
+        // Frame time graph, newest frame on the right
+        int graphLeft = left + 4;
+        int graphBottom = top + boxHeight - 4;
+        long graphScale = TARGET_FRAME_NANOS * 2; // Bars are capped at twice the target frame time
+        for (int i = 0; i < frameSamples; i++) {
+            long time = frameTimes[(frameCursor - frameSamples + i + GRAPH_FRAMES) % GRAPH_FRAMES];
+            int barHeight = (int) Math.min(GRAPH_HEIGHT, time * GRAPH_HEIGHT / graphScale);
+            int barX = graphLeft + GRAPH_FRAMES - frameSamples + i;
+            QuadBatcher.fill(context, barX, graphBottom - barHeight, barX + 1, graphBottom,
+                    time > TARGET_FRAME_NANOS ? SLOW_BAR_COLOR : BAR_COLOR);
+        }
+        int targetY = graphBottom - GRAPH_HEIGHT / 2;
+        QuadBatcher.fill(context, graphLeft, targetY, graphLeft + GRAPH_FRAMES, targetY + 1, TARGET_LINE_COLOR);
+        QuadBatcher.flush(context);
+
+        // Summary
+        int textX = left + 4;
+        int y = top + 4;
+        long p50 = percentile(0.50f);
+        long p99 = percentile(0.99f);
+        context.drawTextWithShadow(textRenderer, String.format("Frame p50 %.2fms  p99 %.2fms", p50 / 1e6, p99 / 1e6), textX, y, TEXT_COLOR);
+        y += lineHeight;
+        context.drawTextWithShadow(textRenderer, tabName != null
+                ? String.format("Screen %.2fms  Tab '%s' %.2fms", screenNanos / 1e6, tabName, tabNanos / 1e6)
+                : String.format("Screen %.2fms", screenNanos / 1e6), textX, y, TEXT_COLOR);
+        y += lineHeight;
+        context.drawTextWithShadow(textRenderer, String.format("Fill %d  Text %d  Tex %d  Scissor %d",
+                lastFills, lastTexts, lastTextures, lastScissors), textX, y, TEXT_COLOR);
+        y += lineHeight;
+        context.drawTextWithShadow(textRenderer, String.format("Batched %d draws, %d quads",
+                lastBatchedDraws, lastBatchedQuads), textX, y, TEXT_COLOR);
+        y += lineHeight;
+        context.drawTextWithShadow(textRenderer, threadBean != null
+                ? String.format("Alloc %.1f KB/frame  %.2f MB/s", allocatedPerFrame / 1024, allocatedPerSecond / (1024 * 1024))
+                : "Alloc n/a", textX, y, TEXT_COLOR);
+        y += lineHeight;
+        for (WidgetPool<?> pool : WidgetPools.getAll()) {
+            context.drawTextWithShadow(textRenderer, String.format("Pool %s: hit %.0f%% out %d free %d leak %d",
+                    pool.getName(), pool.getHitRate() * 100, pool.getOutstandingCount(), pool.getFreeCount(), pool.getLeakCount()),
+                    textX, y, pool.getLeakCount() > 0 ? OVER_BUDGET_COLOR : TEXT_COLOR);
+            y += lineHeight;
+        }
+
+        // Slowest panels
+        for (int i = 0; i < listed; i++) {
+            PanelStats stats = sortedPanels.get(i);
+            int color = stats.nanos > panelBudgetNanos ? OVER_BUDGET_COLOR : LABEL_COLOR;
+            context.drawTextWithShadow(textRenderer, String.format("%6.3fms %s", stats.nanos / 1e6, stats.label), textX, y, color);
+            y += lineHeight;
+        }
+    }
+
+    /**
+     * Frame time at a percentile of the rolling window.
+     */
+    private static long percentile(float fraction) {
+        if (frameSamples == 0) return 0;
+        for (int i = 0; i < frameSamples; i++) {
+            sortedFrameTimes[i] = frameTimes[(frameCursor - frameSamples + i + GRAPH_FRAMES) % GRAPH_FRAMES];
+        }
+        Arrays.sort(sortedFrameTimes, 0, frameSamples);
+        return sortedFrameTimes[Math.min(frameSamples - 1, (int)(fraction * frameSamples))];
+    }
+
+    /**
+     * Smoothed timing of one panel.
+     */
+    private static final class PanelStats {
+        final UIPanel panel;
+        final String label;
+        float nanos;
+        long lastFrame;
+
+        PanelStats(UIPanel panel) {
+            this.panel = panel;
+            String name = panel.getClass().getSimpleName();
+            if (name.isEmpty()) name = panel.getClass().getName(); // Anonymous panels
+            this.label = panel.getTitle() != null ? name + " '" + panel.getTitle().getString() + "'" : name;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package sypztep.tyrannus.client.debug;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gl.Framebuffer;
+import net.minecraft.client.gl.SimpleFramebuffer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.gui.screen.TitleScreen;
+import net.minecraft.client.render.VertexSorter;
+import net.minecraft.client.texture.NativeImage;
+import net.minecraft.client.util.ScreenshotRecorder;
+import net.minecraft.client.util.Window;
+import net.minecraft.text.Text;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fStack;
+import sypztep.tyrannus.Tyrannus;
+import sypztep.tyrannus.client.render.QuadBatcher;
+import sypztep.tyrannus.client.screen.panel.InfoPanel;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Checks the content tile cache against a direct draw on the running GL.
+ * <p>
+ * Started with {@code -Dtyrannus.tileCheck=true}, as the {@code runTileCheck} task does on
+ * software GL (llvmpipe). Once the title screen is up, a text panel scrolled across tile
+ * boundaries is rendered offscreen twice, directly under a scissor and from its tiles, and
+ * the game exits with status 0 if the two frames match and 1 otherwise. Frames that do not
+ * match are saved to the run directory.
+ */
+@Environment(EnvType.CLIENT)
+public final class TileCacheCheck {
+    public static final boolean ENABLED = Boolean.getBoolean("tyrannus.tileCheck");
+
+    // Largest difference per channel, for rounding in blending and texture sampling
+    private static final int TOLERANCE = 2;
+
+    private static boolean done = false;
+
+    private TileCacheCheck() {}
+
+    /**
+     * Run the check on the first tick with the title screen open, after resources have loaded.
+     */
+    public static void onEndTick(MinecraftClient client) {
+        if (done || !(client.currentScreen instanceof TitleScreen)) return;
+        done = true;
+
+        CheckPanel panel = new CheckPanel();
+        for (int i = 0; i < 24; i++) {
+            panel.addParagraph(Text.literal("Paragraph " + i + ": the quick brown fox jumps over the lazy dog, "
+                    + "then wanders off to see whether the tiles line up with the scissored text."));
+        }
+        // One and a half viewports down, so two tiles share the viewport
+        panel.scrollTo(panel.getContentHeight() * 3 / 2);
+
+        NativeImage direct = capture(client, panel);
+        panel.setContentCached(true);
+        // The first cached frame renders the tiles, which leaves the main framebuffer bound
+        capture(client, panel).close();
+        NativeImage cached = capture(client, panel);
+        panel.release();
+
+        int difference = compare(direct, cached);
+        boolean passed = difference <= TOLERANCE;
+        if (passed) {
+            Tyrannus.LOGGER.info("Tile cache check passed, largest channel difference {}", difference);
+        } else {
+            Tyrannus.LOGGER.error("Tile cache check failed, largest channel difference {} exceeds {}", difference, TOLERANCE);
+            save(direct, client.runDirectory.toPath().resolve("tile-check-direct.png"));
+            save(cached, client.runDirectory.toPath().resolve("tile-check-cached.png"));
+        }
+        direct.close();
+        cached.close();
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * Render the panel into an offscreen target the size of the window, with the GUI projection.
+     */
+    private static NativeImage capture(MinecraftClient client, InfoPanel panel) {
+        Window window = client.getWindow();
+        int width = window.getFramebufferWidth();
+        int height = window.getFramebufferHeight();
+
+        // Opaque, so premultiplied tiles and directly blended text end up alike
+        Framebuffer target = new SimpleFramebuffer(width, height, true, MinecraftClient.IS_SYSTEM_MAC);
+        target.setClearColor(0.1f, 0.1f, 0.1f, 1.0f);
+        target.clear(MinecraftClient.IS_SYSTEM_MAC);
+        target.beginWrite(true);
+
+        double scale = window.getScaleFactor();
+        RenderSystem.backupProjectionMatrix();
+        RenderSystem.setProjectionMatrix(new Matrix4f().setOrtho(0.0f, (float) (width / scale), (float) (height / scale), 0.0f, 1000.0f, 21000.0f), VertexSorter.BY_Z);
+        Matrix4fStack modelView = RenderSystem.getModelViewStack();
+        modelView.pushMatrix();
+        modelView.translation(0.0f, 0.0f, -11000.0f);
+        RenderSystem.applyModelViewMatrix();
+
+        DrawContext context = new DrawContext(client, client.getBufferBuilders().getEntityVertexConsumers());
+        panel.render(context, -1, -1, 0.0f);
+        QuadBatcher.endFrame(context);
+        context.draw();
+
+        modelView.popMatrix();
+        RenderSystem.applyModelViewMatrix();
+        RenderSystem.restoreProjectionMatrix();
+
+        NativeImage image = ScreenshotRecorder.takeScreenshot(target);
+        target.delete();
+        client.getFramebuffer().beginWrite(true);
+        return image;
+    }
+
+    /**
+     * Get the largest difference of any color channel between two images of the same size.
+     */
+    private static int compare(NativeImage a, NativeImage b) {
+        int largest = 0;
+        for (int y = 0; y < a.getHeight(); y++) {
+            for (int x = 0; x < a.getWidth(); x++) {
+                int colorA = a.getColor(x, y);
+                int colorB = b.getColor(x, y);
+                for (int shift = 0; shift < 32; shift += 8) {
+                    int difference = Math.abs(((colorA >> shift) & 0xFF) - ((colorB >> shift) & 0xFF));
+                    largest = Math.max(largest, difference);
+                }
+            }
+        }
+        return largest;
+    }
+
+    private static void save(NativeImage image, Path path) {
+        try {
+            image.writeTo(path);
+            Tyrannus.LOGGER.error("Saved {}", path);
+        } catch (IOException e) {
+            Tyrannus.LOGGER.error("Could not save {}", path, e);
+        }
+    }
+
+    private static final class CheckPanel extends InfoPanel {
+        CheckPanel() {
+            super(8, 8, 200, 120, Text.literal("Tile check"));
+        }
+
+        void scrollTo(double amount) {
+            scrollAmount = Math.min(amount, maxScroll);
+        }
+    }
+}
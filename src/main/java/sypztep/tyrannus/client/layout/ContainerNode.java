@@ -0,0 +1,79 @@
+package sypztep.tyrannus.client.layout;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class for layout nodes that arrange children inside padded bounds.
+ */
+@Environment(EnvType.CLIENT)
+public abstract class ContainerNode extends LayoutNode {
+    protected final List<LayoutNode> children = new ArrayList<>();
+    protected int gap = 0;
+    protected int paddingLeft;
+    protected int paddingTop;
+    protected int paddingRight;
+    protected int paddingBottom;
+
+    /**
+     * Add a child node.
+     */
+    public <T extends LayoutNode> T add(T child) {
+        child.parent = this;
+        children.add(child);
+        invalidate();
+        return child;
+    }
+
+    /**
+     * Remove a child node.
+     */
+    public void remove(LayoutNode child) {
+        if (children.remove(child)) {
+            child.parent = null;
+            invalidate();
+        }
+    }
+
+    public void clear() {
+        for (LayoutNode child : children) {
+            child.parent = null;
+        }
+        children.clear();
+        invalidate();
+    }
+
+    public ContainerNode gap(int gap) {
+        this.gap = gap;
+        invalidate();
+        return this;
+    }
+
+    public ContainerNode padding(int padding) {
+        return padding(padding, padding, padding, padding);
+    }
+
+    public ContainerNode padding(int left, int top, int right, int bottom) {
+        this.paddingLeft = left;
+        this.paddingTop = top;
+        this.paddingRight = right;
+        this.paddingBottom = bottom;
+        invalidate();
+        return this;
+    }
+
+    public List<LayoutNode> getChildren() {
+        return children;
+    }
+
+    protected int horizontalPadding() {
+        return paddingLeft + paddingRight;
+    }
+
+    protected int verticalPadding() {
+        return paddingTop + paddingBottom;
+    }
+}
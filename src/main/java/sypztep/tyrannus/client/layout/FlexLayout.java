@@ -0,0 +1,110 @@
+package sypztep.tyrannus.client.layout;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+/**
+ * Arranges children in a row or a column.
+ * <p>
+ * Children with a fixed size along the main axis keep it; the space left over is
+ * shared between children with a {@link #grow(float) grow} weight. On the cross axis
+ * every child takes its measured size, or the full inner size when it is {@link #FILL}.
+ */
+@Environment(EnvType.CLIENT)
+public class FlexLayout extends ContainerNode {
+    public enum Direction {
+        ROW,
+        COLUMN
+    }
+
+    private final Direction direction;
+
+    public FlexLayout(Direction direction) {
+        this.direction = direction;
+    }
+
+    public static FlexLayout row() {
+        return new FlexLayout(Direction.ROW);
+    }
+
+    public static FlexLayout column() {
+        return new FlexLayout(Direction.COLUMN);
+    }
+
+    @Override
+    protected void onMeasure(int availableWidth, int availableHeight) {
+        boolean row = direction == Direction.ROW;
+        int innerMain = (row ? availableWidth - horizontalPadding() : availableHeight - verticalPadding());
+        int innerCross = (row ? availableHeight - verticalPadding() : availableWidth - horizontalPadding());
+
+        int main = 0;
+        int cross = 0;
+        for (int i = 0; i < children.size(); i++) {
+            LayoutNode child = children.get(i);
+            if (row) {
+                child.measure(innerMain, innerCross);
+                main += child.grow > 0 ? 0 : child.getMeasuredWidth();
+                cross = Math.max(cross, child.getMeasuredHeight());
+            } else {
+                child.measure(innerCross, innerMain);
+                main += child.grow > 0 ? 0 : child.getMeasuredHeight();
+                cross = Math.max(cross, child.getMeasuredWidth());
+            }
+        }
+        main += gap * Math.max(0, children.size() - 1);
+
+        if (row) {
+            measuredWidth = resolve(preferredWidth, availableWidth, main + horizontalPadding());
+            measuredHeight = resolve(preferredHeight, availableHeight, cross + verticalPadding());
+        } else {
+            measuredWidth = resolve(preferredWidth, availableWidth, cross + horizontalPadding());
+            measuredHeight = resolve(preferredHeight, availableHeight, main + verticalPadding());
+        }
+    }
+
+    @Override
+    protected void onLayout(int x, int y, int width, int height) {
+        boolean row = direction == Direction.ROW;
+        int innerX = x + paddingLeft;
+        int innerY = y + paddingTop;
+        int innerMain = row ? width - horizontalPadding() : height - verticalPadding();
+        int innerCross = row ? height - verticalPadding() : width - horizontalPadding();
+
+        // Fixed children first, the remaining space goes to growing children
+        int used = gap * Math.max(0, children.size() - 1);
+        float totalGrow = 0;
+        for (int i = 0; i < children.size(); i++) {
+            LayoutNode child = children.get(i);
+            if (child.grow > 0) {
+                totalGrow += child.grow;
+            } else {
+                used += row ? child.getMeasuredWidth() : child.getMeasuredHeight();
+            }
+        }
+        int remaining = Math.max(0, innerMain - used);
+
+        int position = row ? innerX : innerY;
+        for (int i = 0; i < children.size(); i++) {
+            LayoutNode child = children.get(i);
+            int mainSize;
+            if (child.grow > 0) {
+                mainSize = (int)(remaining * (child.grow / totalGrow));
+            } else {
+                mainSize = row ? child.getMeasuredWidth() : child.getMeasuredHeight();
+            }
+
+            if (row) {
+                int crossSize = child.preferredHeight == FILL ? innerCross : child.getMeasuredHeight();
+                child.layout(position, innerY, mainSize, crossSize);
+            } else {
+                int crossSize = child.preferredWidth == FILL ? innerCross : child.getMeasuredWidth();
+                child.layout(innerX, position, crossSize, mainSize);
+            }
+            position += mainSize + gap;
+        }
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+}
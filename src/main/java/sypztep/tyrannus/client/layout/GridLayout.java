@@ -0,0 +1,62 @@
+package sypztep.tyrannus.client.layout;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+/**
+ * Arranges children in equally sized cells, filling rows left to right.
+ */
+@Environment(EnvType.CLIENT)
+public class GridLayout extends ContainerNode {
+    private final int columns;
+    private final int cellHeight;
+
+    /**
+     * @param columns    number of columns
+     * @param cellHeight height of every cell
+     */
+    public GridLayout(int columns, int cellHeight) {
+        this.columns = Math.max(1, columns);
+        this.cellHeight = cellHeight;
+    }
+
+    private int cellWidth(int innerWidth) {
+        return Math.max(0, (innerWidth - gap * (columns - 1)) / columns);
+    }
+
+    private int rows() {
+        return (children.size() + columns - 1) / columns;
+    }
+
+    @Override
+    protected void onMeasure(int availableWidth, int availableHeight) {
+        int cellWidth = cellWidth(resolve(preferredWidth, availableWidth, 0) - horizontalPadding());
+        for (int i = 0; i < children.size(); i++) {
+            children.get(i).measure(cellWidth, cellHeight);
+        }
+
+        int rows = rows();
+        measuredWidth = resolve(preferredWidth, availableWidth, 0);
+        measuredHeight = resolve(preferredHeight, availableHeight,
+                rows * cellHeight + gap * Math.max(0, rows - 1) + verticalPadding());
+    }
+
+    @Override
+    protected void onLayout(int x, int y, int width, int height) {
+        int cellWidth = cellWidth(width - horizontalPadding());
+        for (int i = 0; i < children.size(); i++) {
+            int column = i % columns;
+            int row = i / columns;
+            children.get(i).layout(
+                    x + paddingLeft + column * (cellWidth + gap),
+                    y + paddingTop + row * (cellHeight + gap),
+                    cellWidth,
+                    cellHeight
+            );
+        }
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+}
@@ -0,0 +1,163 @@
+package sypztep.tyrannus.client.layout;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+/**
+ * A node in a layout tree.
+ * <p>
+ * Layout runs in two passes: {@link #measure} asks a node how big it wants to be for
+ * the space it is offered, and {@link #layout} assigns its final bounds. Both results
+ * are cached. A node is only measured or laid out again when it was
+ * {@link #invalidate() invalidated} or its constraints changed, so re-laying out a
+ * tree after a resize only visits the subtrees that are affected.
+ */
+@Environment(EnvType.CLIENT)
+public abstract class LayoutNode {
+    /** Size value meaning "take all the space offered". */
+    public static final int FILL = -1;
+    /** Size value meaning "as big as the content". */
+    public static final int WRAP = -2;
+
+    protected LayoutNode parent;
+
+    // Sizing constraints
+    protected int preferredWidth = FILL;
+    protected int preferredHeight = FILL;
+    protected int minWidth = 0;
+    protected int minHeight = 0;
+    protected float grow = 0.0f;
+
+    // Measure cache
+    private boolean measureDirty = true;
+    private int measuredForWidth = Integer.MIN_VALUE;
+    private int measuredForHeight = Integer.MIN_VALUE;
+    protected int measuredWidth;
+    protected int measuredHeight;
+
+    // Assigned bounds
+    private boolean layoutDirty = true;
+    protected int x;
+    protected int y;
+    protected int width;
+    protected int height;
+
+    /**
+     * Measure this node for the available space. Results are read from
+     * {@link #getMeasuredWidth()} and {@link #getMeasuredHeight()}.
+     */
+    public final void measure(int availableWidth, int availableHeight) {
+        if (!measureDirty && availableWidth == measuredForWidth && availableHeight == measuredForHeight) {
+            return;
+        }
+        onMeasure(availableWidth, availableHeight);
+        measuredWidth = Math.max(minWidth, measuredWidth);
+        measuredHeight = Math.max(minHeight, measuredHeight);
+        measuredForWidth = availableWidth;
+        measuredForHeight = availableHeight;
+        measureDirty = false;
+    }
+
+    /**
+     * Assign the final bounds of this node.
+     */
+    public final void layout(int x, int y, int width, int height) {
+        if (!layoutDirty && x == this.x && y == this.y && width == this.width && height == this.height) {
+            return;
+        }
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        onLayout(x, y, width, height);
+        layoutDirty = false;
+    }
+
+    /**
+     * Measure and lay out this node as the root of a tree.
+     */
+    public final void layoutRoot(int x, int y, int width, int height) {
+        measure(width, height);
+        layout(x, y, width, height);
+    }
+
+    /**
+     * Mark this node and its ancestors as needing a new measure and layout.
+     */
+    public void invalidate() {
+        LayoutNode node = this;
+        while (node != null && !(node.measureDirty && node.layoutDirty)) {
+            node.measureDirty = true;
+            node.layoutDirty = true;
+            node = node.parent;
+        }
+    }
+
+    /**
+     * Compute {@link #measuredWidth} and {@link #measuredHeight}.
+     */
+    protected abstract void onMeasure(int availableWidth, int availableHeight);
+
+    /**
+     * Apply the bounds that were just assigned, and lay out children.
+     */
+    protected abstract void onLayout(int x, int y, int width, int height);
+
+    /**
+     * Resolve a preferred size against the available space and the content size.
+     */
+    protected static int resolve(int preferred, int available, int content) {
+        return switch (preferred) {
+            case FILL -> Math.max(0, available);
+            case WRAP -> content;
+            default -> preferred;
+        };
+    }
+
+    public LayoutNode size(int width, int height) {
+        this.preferredWidth = width;
+        this.preferredHeight = height;
+        invalidate();
+        return this;
+    }
+
+    public LayoutNode minSize(int width, int height) {
+        this.minWidth = width;
+        this.minHeight = height;
+        invalidate();
+        return this;
+    }
+
+    /**
+     * Share of the leftover space along a flex container's main axis.
+     */
+    public LayoutNode grow(float grow) {
+        this.grow = grow;
+        invalidate();
+        return this;
+    }
+
+    public int getMeasuredWidth() {
+        return measuredWidth;
+    }
+
+    public int getMeasuredHeight() {
+        return measuredHeight;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,50 @@
+package sypztep.tyrannus.client.layout;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import sypztep.tyrannus.client.screen.panel.UIPanel;
+
+/**
+ * A layout node without children, optionally positioning a {@link UIPanel}.
+ */
+@Environment(EnvType.CLIENT)
+public class LeafNode extends LayoutNode {
+    private final UIPanel panel;
+
+    public LeafNode(UIPanel panel) {
+        this.panel = panel;
+    }
+
+    /**
+     * A node that positions the given panel.
+     */
+    public static LeafNode of(UIPanel panel) {
+        return new LeafNode(panel);
+    }
+
+    /**
+     * A node with a fixed size and no panel, used for spacing and content rows.
+     */
+    public static LeafNode fixed(int width, int height) {
+        LeafNode node = new LeafNode(null);
+        node.size(width, height);
+        return node;
+    }
+
+    @Override
+    protected void onMeasure(int availableWidth, int availableHeight) {
+        measuredWidth = resolve(preferredWidth, availableWidth, 0);
+        measuredHeight = resolve(preferredHeight, availableHeight, 0);
+    }
+
+    @Override
+    protected void onLayout(int x, int y, int width, int height) {
+        if (panel != null) {
+            panel.setBounds(x, y, width, height);
+        }
+    }
+
+    public UIPanel getPanel() {
+        return panel;
+    }
+}
@@ -0,0 +1,37 @@
+package sypztep.tyrannus.client.observable;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+/**
+ * An observable float. Setting the current value again does not notify.
+ */
+@Environment(EnvType.CLIENT)
+public final class FloatProperty implements Observable {
+    private final ListenerList listeners = new ListenerList();
+    private float value;
+
+    public FloatProperty(float value) {
+        this.value = value;
+    }
+
+    public float get() {
+        return value;
+    }
+
+    public void set(float value) {
+        if (Float.compare(this.value, value) == 0) return;
+        this.value = value;
+        listeners.fire();
+    }
+
+    @Override
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+}
@@ -0,0 +1,37 @@
+package sypztep.tyrannus.client.observable;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+/**
+ * An observable int. Setting the current value again does not notify.
+ */
+@Environment(EnvType.CLIENT)
+public final class IntProperty implements Observable {
+    private final ListenerList listeners = new ListenerList();
+    private int value;
+
+    public IntProperty(int value) {
+        this.value = value;
+    }
+
+    public int get() {
+        return value;
+    }
+
+    public void set(int value) {
+        if (this.value == value) return;
+        this.value = value;
+        listeners.fire();
+    }
+
+    @Override
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+}
@@ -0,0 +1,53 @@
+package sypztep.tyrannus.client.observable;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects the listeners of changed observables and runs each of them once per frame.
+ * <p>
+ * Changing ten values a widget depends on costs that widget one invalidation. Render thread only.
+ */
+@Environment(EnvType.CLIENT)
+public final class InvalidationBatch {
+    private static final List<Runnable> pending = new ArrayList<>();
+    private static final Set<Runnable> scheduled = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private InvalidationBatch() {
+    }
+
+    /**
+     * Queue a listener unless it is already queued.
+     */
+    static void schedule(Runnable listener) {
+        if (scheduled.add(listener)) {
+            pending.add(listener);
+        }
+    }
+
+    /**
+     * Run the queued listeners. Called by the screen at the start of a frame.
+     * Listeners changing other values are handled in the same pass.
+     */
+    public static void flush() {
+        for (int i = 0; i < pending.size(); i++) {
+            Runnable listener = pending.get(i);
+            scheduled.remove(listener);
+            listener.run();
+        }
+        pending.clear();
+    }
+
+    /**
+     * Number of listeners waiting for the next pass.
+     */
+    public static int getPendingCount() {
+        return pending.size();
+    }
+}
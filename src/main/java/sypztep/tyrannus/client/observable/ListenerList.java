@@ -0,0 +1,43 @@
+package sypztep.tyrannus.client.observable;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+import java.util.Arrays;
+
+/**
+ * Listener storage shared by the observable types.
+ */
+@Environment(EnvType.CLIENT)
+final class ListenerList {
+    private static final Runnable[] EMPTY = new Runnable[0];
+
+    private Runnable[] listeners = EMPTY;
+    private int size = 0;
+
+    void add(Runnable listener) {
+        if (size == listeners.length) {
+            listeners = Arrays.copyOf(listeners, Math.max(4, size * 2));
+        }
+        listeners[size++] = listener;
+    }
+
+    void remove(Runnable listener) {
+        for (int i = 0; i < size; i++) {
+            if (listeners[i] == listener) {
+                System.arraycopy(listeners, i + 1, listeners, i, size - i - 1);
+                listeners[--size] = null;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Schedule every listener for the next invalidation pass.
+     */
+    void fire() {
+        for (int i = 0; i < size; i++) {
+            InvalidationBatch.schedule(listeners[i]);
+        }
+    }
+}
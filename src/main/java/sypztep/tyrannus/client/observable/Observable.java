@@ -0,0 +1,19 @@
+package sypztep.tyrannus.client.observable;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+/**
+ * A value that tells listeners when it changes.
+ * <p>
+ * Listeners are not called from the setter. They are queued in the {@link InvalidationBatch}
+ * and run once at the start of the next frame, however many of their dependencies changed.
+ * Keep listener instances in fields, so the same instance can be removed again and is
+ * recognized when several values schedule it.
+ */
+@Environment(EnvType.CLIENT)
+public interface Observable {
+    void addListener(Runnable listener);
+
+    void removeListener(Runnable listener);
+}
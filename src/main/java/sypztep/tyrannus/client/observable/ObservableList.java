@@ -0,0 +1,79 @@
+package sypztep.tyrannus.client.observable;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A list that notifies its listeners when elements are added, removed or replaced.
+ * Changes to the elements themselves are not observed.
+ */
+@Environment(EnvType.CLIENT)
+public final class ObservableList<E> extends AbstractList<E> implements Observable {
+    private final ListenerList listeners = new ListenerList();
+    private final List<E> elements = new ArrayList<>();
+
+    @Override
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public E set(int index, E element) {
+        E previous = elements.set(index, element);
+        listeners.fire();
+        return previous;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        elements.add(index, element);
+        modCount++;
+        listeners.fire();
+    }
+
+    @Override
+    public E remove(int index) {
+        E removed = elements.remove(index);
+        modCount++;
+        listeners.fire();
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        if (elements.isEmpty()) return;
+        elements.clear();
+        modCount++;
+        listeners.fire();
+    }
+
+    /**
+     * Replace the whole contents with one notification.
+     */
+    public void setAll(Collection<? extends E> contents) {
+        elements.clear();
+        elements.addAll(contents);
+        modCount++;
+        listeners.fire();
+    }
+
+    @Override
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+}
@@ -0,0 +1,40 @@
+package sypztep.tyrannus.client.observable;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.text.Text;
+
+import java.util.Objects;
+
+/**
+ * An observable text. Setting an equal text does not notify.
+ */
+@Environment(EnvType.CLIENT)
+public final class TextProperty implements Observable {
+    private final ListenerList listeners = new ListenerList();
+    private Text value;
+
+    public TextProperty(Text value) {
+        this.value = value;
+    }
+
+    public Text get() {
+        return value;
+    }
+
+    public void set(Text value) {
+        if (Objects.equals(this.value, value)) return;
+        this.value = value;
+        listeners.fire();
+    }
+
+    @Override
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+}
@@ -0,0 +1,119 @@
+package sypztep.tyrannus.client.pool;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import sypztep.tyrannus.Tyrannus;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Reuses widgets that are rebuilt often, such as the rows and buttons of a list refreshed from server data.
+ * <p>
+ * Instances are reset when they are released, so an acquired instance looks freshly constructed
+ * apart from what the caller sets up. Instances still acquired are tracked weakly: one that becomes
+ * unreachable without being released is counted as leaked. Pooled types must keep identity equality.
+ * Render thread only.
+ */
+@Environment(EnvType.CLIENT)
+public final class WidgetPool<T> {
+    private final String name;
+    private final Supplier<T> factory;
+    private final Consumer<T> reset;
+    private final int maxFree;
+
+    private final ArrayDeque<T> free = new ArrayDeque<>();
+    private final Map<T, Boolean> acquired = new WeakHashMap<>();
+
+    // Counters since the pool was created
+    private long acquires = 0;
+    private long hits = 0;
+    private long releases = 0;
+    private long reportedLeaks = 0;
+
+    /**
+     * @param factory creates a new instance when none is free
+     * @param reset   returns a released instance to its initial state
+     * @param maxFree instances kept beyond this are left to the garbage collector
+     */
+    public WidgetPool(String name, Supplier<T> factory, Consumer<T> reset, int maxFree) {
+        this.name = name;
+        this.factory = factory;
+        this.reset = reset;
+        this.maxFree = maxFree;
+    }
+
+    /**
+     * Take a free instance, or create one if none is left.
+     */
+    public T acquire() {
+        acquires++;
+        T instance = free.pollLast();
+        if (instance != null) {
+            hits++;
+        } else {
+            instance = factory.get();
+        }
+        acquired.put(instance, Boolean.TRUE);
+        return instance;
+    }
+
+    /**
+     * Return an instance to the pool. It must not be used afterwards.
+     *
+     * @throws IllegalStateException if the instance was not acquired from this pool or was already released
+     */
+    public void release(T instance) {
+        if (acquired.remove(instance) == null) {
+            throw new IllegalStateException("Released " + instance + " which is not acquired from pool " + name);
+        }
+        releases++;
+        reset.accept(instance);
+        if (free.size() < maxFree) {
+            free.addLast(instance);
+        }
+    }
+
+    /**
+     * Number of instances that became unreachable without being released.
+     */
+    public long getLeakCount() {
+        return acquires - releases - acquired.size();
+    }
+
+    /**
+     * Log instances leaked since the last check.
+     */
+    public void checkLeaks() {
+        long leaks = getLeakCount();
+        if (leaks > reportedLeaks) {
+            Tyrannus.LOGGER.warn("Widget pool {} leaked {} instances that were never released", name, leaks - reportedLeaks);
+            reportedLeaks = leaks;
+        }
+    }
+
+    /**
+     * Share of acquisitions served by a free instance, 0 to 1.
+     */
+    public float getHitRate() {
+        return acquires == 0 ? 0.0f : (float) hits / acquires;
+    }
+
+    /**
+     * Number of instances acquired and not yet released.
+     */
+    public int getOutstandingCount() {
+        return acquired.size();
+    }
+
+    public int getFreeCount() {
+        return free.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
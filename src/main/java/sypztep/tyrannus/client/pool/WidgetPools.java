@@ -0,0 +1,52 @@
+package sypztep.tyrannus.client.pool;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.text.Text;
+import sypztep.tyrannus.client.layout.LayoutNode;
+import sypztep.tyrannus.client.layout.LeafNode;
+import sypztep.tyrannus.client.screen.panel.Button;
+import sypztep.tyrannus.client.screen.panel.ProgressBar;
+
+import java.util.List;
+
+/**
+ * Shared pools of the widgets that lists create per row.
+ * Acquired widgets have a zero size and must be positioned by the caller.
+ */
+@Environment(EnvType.CLIENT)
+public final class WidgetPools {
+    private static final int MAX_FREE = 64;
+
+    public static final WidgetPool<Button> BUTTONS = new WidgetPool<>("buttons",
+            () -> new Button(0, 0, 0, 0, Text.empty(), null), Button::reset, MAX_FREE);
+
+    public static final WidgetPool<ProgressBar> PROGRESS_BARS = new WidgetPool<>("bars",
+            () -> new ProgressBar(0, 0, 0, 0), ProgressBar::reset, MAX_FREE);
+
+    /** Empty layout rows, sized by the caller. */
+    public static final WidgetPool<LeafNode> ROWS = new WidgetPool<>("rows",
+            () -> new LeafNode(null), WidgetPools::resetRow, MAX_FREE * 4);
+
+    private static final List<WidgetPool<?>> ALL = List.of(BUTTONS, PROGRESS_BARS, ROWS);
+
+    private WidgetPools() {
+    }
+
+    private static void resetRow(LeafNode row) {
+        row.size(LayoutNode.FILL, LayoutNode.FILL).minSize(0, 0).grow(0.0f);
+    }
+
+    /**
+     * Log instances of any pool that were dropped without being released.
+     */
+    public static void checkLeaks() {
+        for (WidgetPool<?> pool : ALL) {
+            pool.checkLeaks();
+        }
+    }
+
+    public static List<WidgetPool<?>> getAll() {
+        return ALL;
+    }
+}
@@ -0,0 +1,200 @@
+package sypztep.tyrannus.client.render;
+
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gl.Framebuffer;
+import net.minecraft.client.gl.SimpleFramebuffer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.render.BufferBuilder;
+import net.minecraft.client.render.BufferRenderer;
+import net.minecraft.client.render.GameRenderer;
+import net.minecraft.client.render.Tessellator;
+import net.minecraft.client.render.VertexFormat;
+import net.minecraft.client.render.VertexFormats;
+import net.minecraft.client.render.VertexSorter;
+import org.joml.Matrix4f;
+
+import java.util.Arrays;
+
+/**
+ * Caches scrollable content in offscreen tiles, so scrolling only moves textured quads.
+ * <p>
+ * The content is cut into tiles as tall as the viewport, each rendered into its own
+ * framebuffer the first time it becomes visible and again only after it was invalidated.
+ * A frame draws at most two textured quads, sampled at the scroll offset, which also
+ * allows scrolling by fractions of a pixel. Only the visible tiles and their neighbours
+ * keep a framebuffer, the others are deleted and rendered again when scrolled back to.
+ * <p>
+ * Tiles are rendered with the GUI blend mode into a transparent target, which leaves
+ * them premultiplied; they are composited with {@code ONE, ONE_MINUS_SRC_ALPHA}. Only
+ * plain framebuffer objects are used, so this works on software GL such as llvmpipe;
+ * {@link sypztep.tyrannus.client.debug.TileCacheCheck} compares cached tiles against a direct draw.
+ * Content rendered into a tile must not use scissors, the tile bounds do the clipping.
+ */
+@Environment(EnvType.CLIENT)
+public final class ContentTileCache {
+    private final TileRenderer renderer;
+
+    private Framebuffer[] tiles = new Framebuffer[0];
+    private boolean[] dirty = new boolean[0];
+    private int tileCount = 0;
+
+    // Geometry the tiles were rendered for; any change invalidates all of them
+    private int width = -1;
+    private int tileHeight = -1;
+    private double scale = -1;
+
+    public ContentTileCache(TileRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    /**
+     * Re-render every tile when it is next visible.
+     */
+    public void invalidate() {
+        Arrays.fill(dirty, 0, tileCount, true);
+    }
+
+    /**
+     * Re-render the tiles overlapping a range of content offsets when they are next visible.
+     */
+    public void invalidate(int top, int bottom) {
+        if (tileHeight <= 0) return;
+        int first = Math.max(0, top / tileHeight);
+        int last = Math.min(tileCount - 1, (bottom - 1) / tileHeight);
+        for (int i = first; i <= last; i++) {
+            dirty[i] = true;
+        }
+    }
+
+    /**
+     * Draw the visible part of the content into a viewport, rendering missing or invalidated tiles first.
+     * Call outside of any scissor, pending quads are flushed before.
+     */
+    public void draw(DrawContext context, int x, int y, int width, int height, double scroll, int contentHeight) {
+        if (width <= 0 || height <= 0 || contentHeight <= 0) return;
+
+        MinecraftClient client = MinecraftClient.getInstance();
+        double scale = client.getWindow().getScaleFactor();
+        if (width != this.width || height != tileHeight || scale != this.scale) {
+            this.width = width;
+            this.tileHeight = height;
+            this.scale = scale;
+            invalidate();
+        }
+        ensureTiles((contentHeight + height - 1) / height);
+
+        int first = (int) (scroll / height);
+        int last = Math.min(tileCount - 1, ((int) Math.ceil(scroll + height) - 1) / height);
+
+        QuadBatcher.flush(context);
+        context.draw();
+        for (int i = first; i <= last; i++) {
+            if (dirty[i] || tiles[i] == null) {
+                renderTile(client, i);
+            }
+        }
+        deleteTilesOutside(first - 1, last + 1);
+
+        RenderSystem.setShader(GameRenderer::getPositionTexProgram);
+        RenderSystem.enableBlend();
+        RenderSystem.blendFunc(GlStateManager.SrcFactor.ONE, GlStateManager.DstFactor.ONE_MINUS_SRC_ALPHA);
+        Matrix4f matrix = context.getMatrices().peek().getPositionMatrix();
+        for (int i = first; i <= last; i++) {
+            // Part of the content covered by both the tile and the viewport
+            int tileTop = i * height;
+            double top = Math.max(scroll, tileTop);
+            double bottom = Math.min(scroll + height, tileTop + height);
+            if (bottom <= top) continue;
+
+            float y1 = (float) (y + top - scroll);
+            float y2 = (float) (y + bottom - scroll);
+            // Framebuffer textures are stored bottom up
+            float v1 = 1.0f - (float) ((top - tileTop) / height);
+            float v2 = 1.0f - (float) ((bottom - tileTop) / height);
+
+            RenderSystem.setShaderTexture(0, tiles[i].getColorAttachment());
+            BufferBuilder buffer = Tessellator.getInstance().begin(VertexFormat.DrawMode.QUADS, VertexFormats.POSITION_TEXTURE);
+            buffer.vertex(matrix, x, y1, 0).texture(0, v1);
+            buffer.vertex(matrix, x, y2, 0).texture(0, v2);
+            buffer.vertex(matrix, x + width, y2, 0).texture(1, v2);
+            buffer.vertex(matrix, x + width, y1, 0).texture(1, v1);
+            BufferRenderer.drawWithGlobalProgram(buffer.end());
+        }
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.disableBlend();
+    }
+
+    /**
+     * Delete the framebuffers. The cache stays usable and recreates them when drawn again.
+     */
+    public void close() {
+        deleteTilesOutside(0, -1);
+        tileCount = 0;
+    }
+
+    /**
+     * Delete the framebuffers of the tiles outside an inclusive index range.
+     */
+    private void deleteTilesOutside(int first, int last) {
+        for (int i = 0; i < tiles.length; i++) {
+            if ((i < first || i > last) && tiles[i] != null) {
+                tiles[i].delete();
+                tiles[i] = null;
+            }
+        }
+    }
+
+    private void ensureTiles(int count) {
+        if (count > tiles.length) {
+            int size = Math.max(count, tiles.length * 2);
+            tiles = Arrays.copyOf(tiles, size);
+            dirty = Arrays.copyOf(dirty, size);
+        }
+        // Tiles past the end of shorter content must be redrawn if the content grows back
+        for (int i = tileCount; i < count; i++) {
+            dirty[i] = true;
+        }
+        tileCount = count;
+    }
+
+    private void renderTile(MinecraftClient client, int index) {
+        int framebufferWidth = (int) Math.ceil(width * scale);
+        int framebufferHeight = (int) Math.ceil(tileHeight * scale);
+
+        Framebuffer framebuffer = tiles[index];
+        if (framebuffer == null) {
+            framebuffer = new SimpleFramebuffer(framebufferWidth, framebufferHeight, false, MinecraftClient.IS_SYSTEM_MAC);
+            tiles[index] = framebuffer;
+        } else if (framebuffer.textureWidth != framebufferWidth || framebuffer.textureHeight != framebufferHeight) {
+            framebuffer.resize(framebufferWidth, framebufferHeight, MinecraftClient.IS_SYSTEM_MAC);
+        }
+        framebuffer.setClearColor(0.0f, 0.0f, 0.0f, 0.0f);
+        framebuffer.clear(MinecraftClient.IS_SYSTEM_MAC);
+        framebuffer.beginWrite(true);
+
+        RenderSystem.backupProjectionMatrix();
+        RenderSystem.setProjectionMatrix(new Matrix4f().setOrtho(0.0f, width, tileHeight, 0.0f, 1000.0f, 21000.0f), VertexSorter.BY_Z);
+
+        DrawContext tileContext = new DrawContext(client, client.getBufferBuilders().getEntityVertexConsumers());
+        renderer.render(tileContext, index * tileHeight);
+        QuadBatcher.flush(tileContext);
+        tileContext.draw();
+
+        RenderSystem.restoreProjectionMatrix();
+        client.getFramebuffer().beginWrite(true);
+        dirty[index] = false;
+    }
+
+    /**
+     * Draws the content into a tile. The context origin is the top left of the tile,
+     * {@code tileTop} the content offset it starts at.
+     */
+    @FunctionalInterface
+    public interface TileRenderer {
+        void render(DrawContext context, int tileTop);
+    }
+}
@@ -0,0 +1,516 @@
+package sypztep.tyrannus.client.render;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.gui.tooltip.TooltipPositioner;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.VertexConsumer;
+import net.minecraft.client.render.VertexConsumerProvider;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.tooltip.TooltipData;
+import net.minecraft.text.OrderedText;
+import net.minecraft.text.Style;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+import org.joml.Vector3f;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A recorded sequence of draw commands that can be replayed into any context.
+ * <p>
+ * Rendering into the context returned by {@link #begin()} captures quads (batched
+ * or filled directly) as pre-transformed vertices, and text, textures and scissor
+ * changes as commands, in drawing order. {@link #replay} copies the quads into the
+ * {@link QuadBatcher} and re-issues the other commands, so replaying a static panel
+ * costs little more than copying its vertex data.
+ * <p>
+ * Only fills, gradients, text, plain textures, gui sprites and scissors can be recorded.
+ * Drawing anything else into the recorder, such as items, tooltips, tinted sprites or
+ * a non-gui render layer, makes the list {@linkplain #isRecordable() unrecordable}: the
+ * draw is dropped and the caller should render that frame directly instead. Draws issued
+ * straight through {@code RenderSystem} bypass the recorder and cannot be detected.
+ */
+@Environment(EnvType.CLIENT)
+public final class DisplayList {
+    private static final int FLOATS_PER_QUAD = 12;
+
+    // Op stream: type and an index into the storage of that type
+    private static final int OP_QUADS = 0;
+    private static final int OP_TEXT = 1;
+    private static final int OP_TEXTURE = 2;
+    private static final int OP_SCISSOR_PUSH = 3;
+    private static final int OP_SCISSOR_POP = 4;
+
+    private int[] opTypes = new int[32];
+    private int[] opArgs = new int[32];
+    private int opCount = 0;
+
+    // Quad storage, the QUADS op with argument n draws the run quadRuns[2n] (first quad), quadRuns[2n + 1] (count)
+    private float[] vertices = new float[FLOATS_PER_QUAD * 64];
+    private int[] colors = new int[4 * 64];
+    private int vertexCount = 0;
+    private int runStart = 0;
+    private int[] quadRuns = new int[16];
+    private int quadRunCount = 0;
+
+    private final List<TextOp> texts = new ArrayList<>();
+    private final List<TextureOp> textures = new ArrayList<>();
+    private int[] scissors = new int[16];
+    private int scissorCount = 0;
+
+    private Recorder recorder;
+    private boolean recordable = true;
+
+    /**
+     * Clear the list and get a context to record into. Call {@link #end()} when done.
+     */
+    public DrawContext begin() {
+        if (recorder == null) {
+            recorder = new Recorder(MinecraftClient.getInstance(), this);
+        }
+        opCount = 0;
+        vertexCount = 0;
+        runStart = 0;
+        quadRunCount = 0;
+        texts.clear();
+        textures.clear();
+        scissorCount = 0;
+        recordable = true;
+        recorder.getMatrices().loadIdentity();
+        return recorder;
+    }
+
+    /**
+     * Finish recording, submitting quads still pending in the batcher.
+     */
+    public void end() {
+        closeQuadRun();
+    }
+
+    /**
+     * Draw the recorded commands into a context, under its current transform.
+     */
+    public void replay(DrawContext context) {
+        for (int i = 0; i < opCount; i++) {
+            int arg = opArgs[i];
+            switch (opTypes[i]) {
+                case OP_QUADS -> QuadBatcher.addQuads(context, vertices, colors, quadRuns[arg * 2], quadRuns[arg * 2 + 1]);
+                case OP_TEXT -> {
+                    QuadBatcher.flush(context);
+                    texts.get(arg).draw(context);
+                }
+                case OP_TEXTURE -> {
+                    QuadBatcher.flush(context);
+                    textures.get(arg).draw(context);
+                }
+                case OP_SCISSOR_PUSH -> {
+                    int offset = arg * 4;
+                    QuadBatcher.enableScissor(context, scissors[offset], scissors[offset + 1], scissors[offset + 2], scissors[offset + 3]);
+                }
+                case OP_SCISSOR_POP -> QuadBatcher.disableScissor(context);
+                default -> throw new IllegalStateException("Unknown op " + opTypes[i]);
+            }
+        }
+    }
+
+    /**
+     * Whether everything drawn since {@link #begin()} was captured. An unrecordable list must not be replayed.
+     */
+    public boolean isRecordable() {
+        return recordable;
+    }
+
+    public int getOpCount() {
+        return opCount;
+    }
+
+    public int getQuadCount() {
+        return vertexCount / 4;
+    }
+
+    private void addOp(int type, int arg) {
+        if (opCount == opTypes.length) {
+            opTypes = Arrays.copyOf(opTypes, opCount * 2);
+            opArgs = Arrays.copyOf(opArgs, opCount * 2);
+        }
+        opTypes[opCount] = type;
+        opArgs[opCount] = arg;
+        opCount++;
+    }
+
+    /**
+     * End the current run of quads, so a command drawn after it keeps its place.
+     */
+    private void closeQuadRun() {
+        // Recorded quads first go through the batcher into the recorder
+        QuadBatcher.flush(recorder);
+        int quads = vertexCount / 4;
+        if (quads > runStart) {
+            if (quadRunCount * 2 == quadRuns.length) {
+                quadRuns = Arrays.copyOf(quadRuns, quadRuns.length * 2);
+            }
+            quadRuns[quadRunCount * 2] = runStart;
+            quadRuns[quadRunCount * 2 + 1] = quads - runStart;
+            addOp(OP_QUADS, quadRunCount++);
+            runStart = quads;
+        }
+    }
+
+    private void addVertex(float x, float y, float z) {
+        if (vertexCount * 3 + 3 > vertices.length) {
+            vertices = Arrays.copyOf(vertices, vertices.length * 2);
+            colors = Arrays.copyOf(colors, colors.length * 2);
+        }
+        int offset = vertexCount * 3;
+        vertices[offset] = x;
+        vertices[offset + 1] = y;
+        vertices[offset + 2] = z;
+        colors[vertexCount] = 0xFFFFFFFF;
+        vertexCount++;
+    }
+
+    private void setLastColor(int color) {
+        if (vertexCount > 0) {
+            colors[vertexCount - 1] = color;
+        }
+    }
+
+    @Nullable
+    private static Matrix4f captureMatrix(DrawContext context) {
+        Matrix4f matrix = context.getMatrices().peek().getPositionMatrix();
+        return (matrix.properties() & Matrix4fc.PROPERTY_IDENTITY) != 0 ? null : new Matrix4f(matrix);
+    }
+
+    /**
+     * Text drawn during recording, with the transform it was drawn under.
+     */
+    private record TextOp(TextRenderer textRenderer, OrderedText text, int x, int y, int color, boolean shadow, @Nullable Matrix4f matrix) {
+        void draw(DrawContext context) {
+            if (matrix != null) {
+                context.getMatrices().push();
+                context.getMatrices().multiplyPositionMatrix(matrix);
+            }
+            context.drawText(textRenderer, text, x, y, color, shadow);
+            if (matrix != null) {
+                context.getMatrices().pop();
+            }
+        }
+    }
+
+    /**
+     * A texture drawn during recording. Sprites have no uv and region size.
+     */
+    private record TextureOp(Identifier texture, boolean sprite, int x, int y, int z, int width, int height,
+                             float u, float v, int regionWidth, int regionHeight, int textureWidth, int textureHeight,
+                             @Nullable Matrix4f matrix) {
+        void draw(DrawContext context) {
+            if (matrix != null) {
+                context.getMatrices().push();
+                context.getMatrices().multiplyPositionMatrix(matrix);
+            }
+            if (sprite) {
+                context.drawGuiTexture(texture, x, y, z, width, height);
+            } else {
+                context.drawTexture(texture, x, y, width, height, u, v, regionWidth, regionHeight, textureWidth, textureHeight);
+            }
+            if (matrix != null) {
+                context.getMatrices().pop();
+            }
+        }
+    }
+
+    /**
+     * The context handed out by {@link #begin()}. Nothing is drawn, every call is captured.
+     */
+    private static final class Recorder extends DrawContext {
+        private final DisplayList list;
+        private final Vector3f scratch = new Vector3f();
+
+        Recorder(MinecraftClient client, DisplayList list) {
+            this(client, list, new CapturingVertexConsumers());
+        }
+
+        private Recorder(MinecraftClient client, DisplayList list, CapturingVertexConsumers vertexConsumers) {
+            super(client, vertexConsumers);
+            this.list = list;
+            vertexConsumers.list = list;
+        }
+
+        @Override
+        public void fill(RenderLayer layer, int x1, int y1, int x2, int y2, int z, int color) {
+            if (x1 < x2) {
+                int tmp = x1;
+                x1 = x2;
+                x2 = tmp;
+            }
+            if (y1 < y2) {
+                int tmp = y1;
+                y1 = y2;
+                y2 = tmp;
+            }
+            quad(x1, y1, x2, y2, z, color, color, color, color);
+        }
+
+        @Override
+        public void fillGradient(RenderLayer layer, int startX, int startY, int endX, int endY, int colorStart, int colorEnd, int z) {
+            quad(startX, startY, endX, endY, z, colorStart, colorEnd, colorEnd, colorStart);
+        }
+
+        /**
+         * Capture a quad as (x1, y1) (x1, y2) (x2, y2) (x2, y1), the vertex order of the vanilla fills.
+         */
+        private void quad(int x1, int y1, int x2, int y2, int z, int c1, int c2, int c3, int c4) {
+            // Keep the order relative to quads still waiting in the batcher
+            QuadBatcher.flush(this);
+            Matrix4f matrix = getMatrices().peek().getPositionMatrix();
+            vertex(matrix, x1, y1, z, c1);
+            vertex(matrix, x1, y2, z, c2);
+            vertex(matrix, x2, y2, z, c3);
+            vertex(matrix, x2, y1, z, c4);
+        }
+
+        private void vertex(Matrix4f matrix, float x, float y, float z, int color) {
+            matrix.transformPosition(x, y, z, scratch);
+            list.addVertex(scratch.x, scratch.y, scratch.z);
+            list.setLastColor(color);
+        }
+
+        @Override
+        public int drawText(TextRenderer textRenderer, @Nullable String text, int x, int y, int color, boolean shadow) {
+            if (text == null) return 0;
+            return drawText(textRenderer, Text.literal(text).asOrderedText(), x, y, color, shadow);
+        }
+
+        @Override
+        public int drawText(TextRenderer textRenderer, OrderedText text, int x, int y, int color, boolean shadow) {
+            list.closeQuadRun();
+            list.addOp(OP_TEXT, list.texts.size());
+            list.texts.add(new TextOp(textRenderer, text, x, y, color, shadow, captureMatrix(this)));
+            return x + textRenderer.getWidth(text) + (shadow ? 1 : 0);
+        }
+
+        @Override
+        public void drawTexture(Identifier texture, int x, int y, int z, float u, float v, int width, int height, int textureWidth, int textureHeight) {
+            addTexture(new TextureOp(texture, false, x, y, z, width, height, u, v, width, height, textureWidth, textureHeight, captureMatrix(this)));
+        }
+
+        @Override
+        public void drawTexture(Identifier texture, int x, int y, int width, int height, float u, float v, int regionWidth, int regionHeight, int textureWidth, int textureHeight) {
+            addTexture(new TextureOp(texture, false, x, y, 0, width, height, u, v, regionWidth, regionHeight, textureWidth, textureHeight, captureMatrix(this)));
+        }
+
+        @Override
+        public void drawGuiTexture(Identifier texture, int x, int y, int z, int width, int height) {
+            addTexture(new TextureOp(texture, true, x, y, z, width, height, 0, 0, 0, 0, 0, 0, captureMatrix(this)));
+        }
+
+        private void addTexture(TextureOp op) {
+            list.closeQuadRun();
+            list.addOp(OP_TEXTURE, list.textures.size());
+            list.textures.add(op);
+        }
+
+        @Override
+        public void enableScissor(int x1, int y1, int x2, int y2) {
+            list.closeQuadRun();
+            if (list.scissorCount * 4 == list.scissors.length) {
+                list.scissors = Arrays.copyOf(list.scissors, list.scissors.length * 2);
+            }
+            int offset = list.scissorCount * 4;
+            list.scissors[offset] = x1;
+            list.scissors[offset + 1] = y1;
+            list.scissors[offset + 2] = x2;
+            list.scissors[offset + 3] = y2;
+            list.addOp(OP_SCISSOR_PUSH, list.scissorCount++);
+        }
+
+        @Override
+        public void disableScissor() {
+            list.closeQuadRun();
+            list.addOp(OP_SCISSOR_POP, 0);
+        }
+
+        @Override
+        public void draw() {
+            // Batched quads were captured by the vertex consumers, nothing to submit
+        }
+
+        @Override
+        public void fillWithLayer(RenderLayer layer, int startX, int startY, int endX, int endY, int z) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawSprite(int x, int y, int z, int width, int height, Sprite sprite) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawSprite(int x, int y, int z, int width, int height, Sprite sprite, float red, float green, float blue, float alpha) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawGuiTexture(Identifier texture, int textureWidth, int textureHeight, int u, int v, int x, int y, int z, int width, int height) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawItem(ItemStack item, int x, int y) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawItem(ItemStack stack, int x, int y, int seed) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawItem(ItemStack stack, int x, int y, int seed, int z) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawItem(LivingEntity entity, ItemStack stack, int x, int y, int seed) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawItemWithoutEntity(ItemStack stack, int x, int y) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawItemWithoutEntity(ItemStack stack, int x, int y, int seed) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawItemInSlot(TextRenderer textRenderer, ItemStack stack, int x, int y) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawItemInSlot(TextRenderer textRenderer, ItemStack stack, int x, int y, @Nullable String countOverride) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawItemTooltip(TextRenderer textRenderer, ItemStack stack, int x, int y) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawTooltip(TextRenderer textRenderer, List<Text> text, Optional<TooltipData> data, int x, int y) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawTooltip(TextRenderer textRenderer, Text text, int x, int y) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawTooltip(TextRenderer textRenderer, List<Text> text, int x, int y) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawOrderedTooltip(TextRenderer textRenderer, List<? extends OrderedText> text, int x, int y) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawTooltip(TextRenderer textRenderer, List<OrderedText> text, TooltipPositioner positioner, int x, int y) {
+            unrecordable();
+        }
+
+        @Override
+        public void drawHoverEvent(TextRenderer textRenderer, @Nullable Style style, int x, int y) {
+            unrecordable();
+        }
+
+        @Override
+        public void draw(Runnable drawCallback) {
+            unrecordable();
+        }
+
+        /**
+         * Drop a draw the list cannot replay, and flag the recording so the caller draws the frame directly.
+         */
+        private void unrecordable() {
+            list.recordable = false;
+        }
+    }
+
+    /**
+     * Captures the vertices the batcher writes on flush.
+     */
+    private static final class CapturingVertexConsumers extends VertexConsumerProvider.Immediate {
+        private DisplayList list;
+
+        private final VertexConsumer consumer = new VertexConsumer() {
+            @Override
+            public VertexConsumer vertex(float x, float y, float z) {
+                list.addVertex(x, y, z);
+                return this;
+            }
+
+            @Override
+            public VertexConsumer color(int red, int green, int blue, int alpha) {
+                list.setLastColor((alpha << 24) | (red << 16) | (green << 8) | blue);
+                return this;
+            }
+
+            @Override
+            public VertexConsumer texture(float u, float v) {
+                return this;
+            }
+
+            @Override
+            public VertexConsumer overlay(int u, int v) {
+                return this;
+            }
+
+            @Override
+            public VertexConsumer light(int u, int v) {
+                return this;
+            }
+
+            @Override
+            public VertexConsumer normal(float x, float y, float z) {
+                return this;
+            }
+        };
+
+        CapturingVertexConsumers() {
+            super(null, new LinkedHashMap<>());
+        }
+
+        @Override
+        public VertexConsumer getBuffer(RenderLayer layer) {
+            // Only untextured gui quads can be replayed from positions and colors
+            if (layer != RenderLayer.getGui()) {
+                list.recordable = false;
+            }
+            return consumer;
+        }
+
+        @Override
+        public void draw() {
+        }
+    }
+}
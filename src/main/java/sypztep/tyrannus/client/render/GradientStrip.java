@@ -0,0 +1,55 @@
+package sypztep.tyrannus.client.render;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.gui.DrawContext;
+
+/**
+ * A one-pixel divider that fades in from both edges towards the center.
+ * <p>
+ * The strip is emitted as two vertex-colored quads, so its cost does not depend on
+ * the width. Colors are only recomputed when the width or hover strength changes.
+ */
+@Environment(EnvType.CLIENT)
+public final class GradientStrip {
+    private int cachedWidth = -1;
+    private float cachedHover = -1.0f;
+    private int halfWidth;
+    private int edgeColor;
+    private int centerColor;
+
+    /**
+     * Draw the strip at the given position.
+     */
+    public void render(DrawContext context, int x, int y, int width, float hoverStrength) {
+        if (width <= 0) return;
+        if (width != cachedWidth || hoverStrength != cachedHover) {
+            rebuild(width, hoverStrength);
+        }
+
+        QuadBatcher.fillHorizontalGradient(context, x, y, x + halfWidth, y + 1, edgeColor, centerColor);
+        QuadBatcher.fillHorizontalGradient(context, x + halfWidth, y, x + width, y + 1, centerColor, edgeColor);
+    }
+
+    private void rebuild(int width, float hoverStrength) {
+        cachedWidth = width;
+        cachedHover = hoverStrength;
+        halfWidth = width / 2;
+
+        // Shift color slightly toward gold when hovered
+        int rgb;
+        if (hoverStrength > 0) {
+            int r = 0x66 + (int)((0xA0 - 0x66) * hoverStrength);
+            int g = 0x66 + (int)((0x80 - 0x66) * hoverStrength);
+            int b = 0x66;
+            rgb = (r << 16) | (g << 8) | b;
+        } else {
+            rgb = 0x666666;
+        }
+
+        // Edges are transparent at rest and lift towards 30% opacity on hover
+        int edgeAlpha = (int)(0.3f * hoverStrength * 255);
+        edgeColor = (edgeAlpha << 24) | rgb;
+        centerColor = 0xFF000000 | rgb;
+    }
+}
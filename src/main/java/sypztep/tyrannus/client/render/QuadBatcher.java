@@ -0,0 +1,220 @@
+package sypztep.tyrannus.client.render;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.VertexConsumer;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+import org.joml.Vector3f;
+
+import java.util.Arrays;
+
+/**
+ * Collects solid-color quads and submits them to the GPU in a single draw.
+ * <p>
+ * {@link DrawContext#fill} flushes its buffer after every call, so a panel made of
+ * a dozen border and glow rectangles costs a dozen draws. Widgets write into this
+ * batcher instead; the quads are transformed by the current matrix when they are
+ * added and submitted together on {@link #flush(DrawContext)}.
+ * <p>
+ * Anything drawn directly through the {@link DrawContext} (text, textures, vanilla
+ * widgets) must be preceded by a flush, otherwise batched quads would end up on top
+ * of it. Use {@link #enableScissor} and {@link #disableScissor} so pending quads are
+ * submitted under the scissor they were recorded with.
+ */
+@Environment(EnvType.CLIENT)
+public final class QuadBatcher {
+    // 4 vertices * (x, y, z) per quad, colors are stored per vertex
+    private static final int FLOATS_PER_QUAD = 12;
+    private static final Matrix4f IDENTITY = new Matrix4f();
+
+    private static final Vector3f scratch = new Vector3f();
+    private static float[] vertices = new float[FLOATS_PER_QUAD * 256];
+    private static int[] colors = new int[4 * 256];
+    private static int quadCount = 0;
+    private static DrawContext pendingContext;
+
+    // Statistics for the current and the last completed frame
+    private static int frameQuads = 0;
+    private static int frameDraws = 0;
+    private static int lastFrameQuads = 0;
+    private static int lastFrameDraws = 0;
+
+    private QuadBatcher() {
+    }
+
+    /**
+     * Queue a filled rectangle. Same semantics as {@link DrawContext#fill(int, int, int, int, int)}.
+     */
+    public static void fill(DrawContext context, int x1, int y1, int x2, int y2, int color) {
+        if (x1 < x2) {
+            int tmp = x1;
+            x1 = x2;
+            x2 = tmp;
+        }
+        if (y1 < y2) {
+            int tmp = y1;
+            y1 = y2;
+            y2 = tmp;
+        }
+        if (x1 == x2 || y1 == y2 || (color >>> 24) == 0) return;
+
+        addQuad(context, x1, y1, x2, y2, color, color, color, color);
+    }
+
+    /**
+     * Queue a rectangle whose color blends from {@code leftColor} to {@code rightColor}.
+     * The blend is done by the GPU, so the cost does not depend on the width.
+     */
+    public static void fillHorizontalGradient(DrawContext context, int x1, int y1, int x2, int y2, int leftColor, int rightColor) {
+        if (x1 >= x2 || y1 >= y2) return;
+
+        // Same winding as fill: (x2, y2) (x2, y1) (x1, y1) (x1, y2) after its swap
+        addQuad(context, x2, y2, x1, y1, rightColor, rightColor, leftColor, leftColor);
+    }
+
+    /**
+     * Queue quads recorded earlier, transformed by the current matrix.
+     * Vertices are stored as in {@link DisplayList}: 4 vertices of (x, y, z) per quad and one color per vertex.
+     */
+    public static void addQuads(DrawContext context, float[] sourceVertices, int[] sourceColors, int firstQuad, int count) {
+        if (count <= 0) return;
+        if (pendingContext != context) {
+            flush(pendingContext);
+            pendingContext = context;
+        }
+        ensureCapacity(quadCount + count);
+
+        Matrix4f matrix = context.getMatrices().peek().getPositionMatrix();
+        int source = firstQuad * FLOATS_PER_QUAD;
+        int target = quadCount * FLOATS_PER_QUAD;
+        int length = count * FLOATS_PER_QUAD;
+        if ((matrix.properties() & Matrix4fc.PROPERTY_IDENTITY) != 0) {
+            System.arraycopy(sourceVertices, source, vertices, target, length);
+        } else {
+            for (int i = 0; i < length; i += 3) {
+                matrix.transformPosition(sourceVertices[source + i], sourceVertices[source + i + 1], sourceVertices[source + i + 2], scratch);
+                vertices[target + i] = scratch.x;
+                vertices[target + i + 1] = scratch.y;
+                vertices[target + i + 2] = scratch.z;
+            }
+        }
+        System.arraycopy(sourceColors, firstQuad * 4, colors, quadCount * 4, count * 4);
+
+        quadCount += count;
+        frameQuads += count;
+    }
+
+    private static void addQuad(DrawContext context, int x1, int y1, int x2, int y2, int c1, int c2, int c3, int c4) {
+        if (pendingContext != context) {
+            flush(pendingContext);
+            pendingContext = context;
+        }
+        ensureCapacity(quadCount + 1);
+
+        Matrix4f matrix = context.getMatrices().peek().getPositionMatrix();
+        int offset = quadCount * FLOATS_PER_QUAD;
+        offset = putVertex(matrix, x1, y1, offset);
+        offset = putVertex(matrix, x1, y2, offset);
+        offset = putVertex(matrix, x2, y2, offset);
+        putVertex(matrix, x2, y1, offset);
+
+        int colorOffset = quadCount * 4;
+        colors[colorOffset] = c1;
+        colors[colorOffset + 1] = c2;
+        colors[colorOffset + 2] = c3;
+        colors[colorOffset + 3] = c4;
+
+        quadCount++;
+        frameQuads++;
+    }
+
+    /**
+     * Submit all pending quads in one draw.
+     */
+    public static void flush(DrawContext context) {
+        if (quadCount == 0) return;
+        // Pending quads always go to the context that recorded them
+        context = pendingContext;
+
+        VertexConsumer consumer = context.getVertexConsumers().getBuffer(RenderLayer.getGui());
+        for (int quad = 0; quad < quadCount; quad++) {
+            int offset = quad * FLOATS_PER_QUAD;
+            for (int v = 0; v < 4; v++, offset += 3) {
+                consumer.vertex(IDENTITY, vertices[offset], vertices[offset + 1], vertices[offset + 2]).color(colors[quad * 4 + v]);
+            }
+        }
+        context.draw();
+
+        quadCount = 0;
+        frameDraws++;
+    }
+
+    /**
+     * Flush pending quads, then push a scissor rectangle.
+     */
+    public static void enableScissor(DrawContext context, int x1, int y1, int x2, int y2) {
+        flush(context);
+        context.enableScissor(x1, y1, x2, y2);
+    }
+
+    /**
+     * Flush pending quads, then pop the current scissor rectangle.
+     */
+    public static void disableScissor(DrawContext context) {
+        flush(context);
+        context.disableScissor();
+    }
+
+    /**
+     * Flush and close the statistics of the current frame.
+     */
+    public static void endFrame(DrawContext context) {
+        flush(context);
+        pendingContext = null;
+        lastFrameQuads = frameQuads;
+        lastFrameDraws = frameDraws;
+        frameQuads = 0;
+        frameDraws = 0;
+    }
+
+    /**
+     * Number of quads submitted during the last completed frame.
+     */
+    public static int getLastFrameQuads() {
+        return lastFrameQuads;
+    }
+
+    /**
+     * Number of draws issued for those quads during the last completed frame.
+     */
+    public static int getLastFrameDraws() {
+        return lastFrameDraws;
+    }
+
+    /**
+     * Draws saved during the last completed frame compared to one draw per fill.
+     */
+    public static int getLastFrameSavedDraws() {
+        return lastFrameQuads - lastFrameDraws;
+    }
+
+    private static int putVertex(Matrix4f matrix, int x, int y, int offset) {
+        matrix.transformPosition(x, y, 0.0f, scratch);
+        vertices[offset] = scratch.x;
+        vertices[offset + 1] = scratch.y;
+        vertices[offset + 2] = scratch.z;
+        return offset + 3;
+    }
+
+    private static void ensureCapacity(int quads) {
+        int capacity = colors.length / 4;
+        if (quads > capacity) {
+            int newSize = Math.max(quads, capacity * 2);
+            colors = Arrays.copyOf(colors, newSize * 4);
+            vertices = Arrays.copyOf(vertices, newSize * FLOATS_PER_QUAD);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package sypztep.tyrannus.client.render;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+import java.util.Arrays;
+
+/**
+ * The inputs a retained frame was recorded with, compared exactly from one frame to the next.
+ * <p>
+ * Values are written between {@link #begin()} and {@link #changed()}; the previous
+ * frame's values are kept in a second buffer, so nothing is allocated once both
+ * buffers are large enough.
+ */
+@Environment(EnvType.CLIENT)
+public final class RenderKey {
+    private long[] values = new long[8];
+    private long[] previous = new long[8];
+    private int size = 0;
+    private int previousSize = 0;
+    private boolean invalid = true;
+
+    /**
+     * Start writing the key of a new frame.
+     */
+    public void begin() {
+        long[] swap = previous;
+        previous = values;
+        values = swap;
+        previousSize = size;
+        size = 0;
+    }
+
+    public RenderKey add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+        return this;
+    }
+
+    public RenderKey add(double value) {
+        return add(Double.doubleToLongBits(value));
+    }
+
+    public RenderKey add(boolean value) {
+        return add(value ? 1L : 0L);
+    }
+
+    /**
+     * Whether the key differs from the one written for the previous frame.
+     */
+    public boolean changed() {
+        if (invalid) {
+            invalid = false;
+            return true;
+        }
+        return size != previousSize || !Arrays.equals(values, 0, size, previous, 0, size);
+    }
+
+    /**
+     * Make the next {@link #changed()} return true.
+     */
+    public void reset() {
+        invalid = true;
+    }
+}
@@ -2,14 +2,19 @@ package sypztep.tyrannus.client.screen;
 
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.text.Text;
-import sypztep.tyrannus.client.screen.panel.ScrollablePanel;
+import sypztep.tyrannus.client.animation.AnimationScheduler;
+import sypztep.tyrannus.client.debug.PerfOverlay;
+import sypztep.tyrannus.client.observable.InvalidationBatch;
+import sypztep.tyrannus.client.pool.WidgetPools;
+import sypztep.tyrannus.client.render.QuadBatcher;
+import sypztep.tyrannus.client.screen.tab.TabDataLoader;
 import sypztep.tyrannus.client.screen.tab.TabManager;
 import sypztep.tyrannus.client.screen.panel.UIPanel;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Environment(EnvType.CLIENT)
@@ -20,7 +25,12 @@ public abstract class BaseScreen extends Screen {
     protected static final int HEADER_COLOR = 0xFFFFD700;
     protected static final int TEXT_COLOR = 0xFFFFFFFF;
 
-    protected final List<UIPanel> panels = new ArrayList<>();
+    // Panels of the screen itself, such as the nav bar, under the layer of the active tab
+    protected final PanelLayer screenLayer = new PanelLayer();
+    protected PanelLayer tabLayer;
+
+    // Routes input to the panels of both layers, holds the pointer capture
+    protected final EventRouter eventRouter = new EventRouter(screenLayer);
 
     protected TabManager tabManager;
 
@@ -31,7 +41,9 @@ public abstract class BaseScreen extends Screen {
 
     @Override
     protected void init() {
-        panels.clear();
+        screenLayer.clear();
+        tabLayer = null;
+        eventRouter.setTabLayer(null);
         initPanels();
 
         if (tabManager != null) {
@@ -42,24 +54,103 @@ public abstract class BaseScreen extends Screen {
     }
 
 
+    /**
+     * Create the panels of the screen. Called when the screen is opened, not when it is resized.
+     */
     protected abstract void initPanels();
 
+    /**
+     * Resize by moving the existing panels instead of rebuilding them, keeping their scroll
+     * positions and animation state.
+     * <p>
+     * Super is not called on purpose: it re-runs {@link #init()}, which would rebuild every
+     * panel. The panels are not vanilla children, so there is nothing for vanilla to move, and
+     * skipping the re-init also skips the screen init events. Listeners registered on this
+     * screen after its first init, such as the tooltip hooks, stay registered since the screen
+     * instance is unchanged. Widgets that other mods add to the children list in those events
+     * keep their positions until the screen is opened again.
+     */
+    @Override
+    public void resize(MinecraftClient client, int width, int height) {
+        this.width = width;
+        this.height = height;
+        layoutPanels();
+    }
+
+    /**
+     * Update panel bounds for the current screen size.
+     * Override to move panels added in {@link #initPanels()} and call super for the tabs.
+     */
+    protected void layoutPanels() {
+        if (tabManager != null) {
+            tabManager.layout(10, 25, width - 20);
+        }
+    }
+
+    @Override
+    public void removed() {
+        screenLayer.release();
+        if (tabManager != null) {
+            tabManager.release();
+        }
+        WidgetPools.checkLeaks();
+        super.removed();
+    }
+
     @Override
     public void render(DrawContext context, int mouseX, int mouseY, float delta) {
+        PerfOverlay.beginFrame();
+        AnimationScheduler.tick();
+        TabDataLoader.drainCompleted();
+        InvalidationBatch.flush(); // After loads, which may change observed values
+
         context.fillGradient(0, 0, width, height, BACKGROUND_COLOR, BACKGROUND_COLOR);
         super.render(context, mouseX, mouseY, delta);
-        for (UIPanel panel : panels) {
-            panel.render(context, mouseX, mouseY, delta);
+
+        // Only the topmost panel under the mouse is hovered
+        UIPanel hovered = findTopmost(mouseX, mouseY);
+        renderLayer(screenLayer, hovered, context, mouseX, mouseY, delta);
+        if (tabLayer != null) {
+            renderLayer(tabLayer, hovered, context, mouseX, mouseY, delta);
         }
+        QuadBatcher.endFrame(context);
 
         renderTitle(context);
 
         // Let active tab render any additional content
         if (tabManager != null) {
+            long start = PerfOverlay.begin();
             tabManager.render(context, mouseX, mouseY, delta);
+            if (tabManager.getActiveTab() != null) {
+                PerfOverlay.endTab(tabManager.getActiveTab(), start);
+            }
+        }
+
+        PerfOverlay.endFrame();
+        if (PerfOverlay.isEnabled()) {
+            PerfOverlay.render(context, width);
+            QuadBatcher.flush(context);
+        }
+    }
+
+
+    private void renderLayer(PanelLayer layer, UIPanel hovered, DrawContext context, int mouseX, int mouseY, float delta) {
+        List<UIPanel> panels = layer.getPanels();
+        for (int i = 0; i < panels.size(); i++) {
+            UIPanel panel = panels.get(i);
+            panel.setResolvedHover(panel == hovered);
+            long start = PerfOverlay.begin();
+            panel.renderFrame(context, mouseX, mouseY, delta);
+            PerfOverlay.endPanel(panel, start);
         }
     }
 
+    /**
+     * Get the topmost panel under the given point across both layers, or null.
+     */
+    protected UIPanel findTopmost(double mouseX, double mouseY) {
+        return eventRouter.findTopmost(mouseX, mouseY);
+    }
 
     protected void renderTitle(DrawContext context) {
         context.drawCenteredTextWithShadow(
@@ -71,59 +162,95 @@ public abstract class BaseScreen extends Screen {
         );
     }
 
+    @Override
+    public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+        if (PerfOverlay.handleKey(keyCode, scanCode)) {
+            return true;
+        }
+        if (eventRouter.keyPressed(keyCode, scanCode, modifiers)) {
+            return true;
+        }
+        return super.keyPressed(keyCode, scanCode, modifiers);
+    }
+
+    @Override
+    public boolean keyReleased(int keyCode, int scanCode, int modifiers) {
+        if (eventRouter.keyReleased(keyCode, scanCode, modifiers)) {
+            return true;
+        }
+        return super.keyReleased(keyCode, scanCode, modifiers);
+    }
+
     @Override
     public boolean mouseScrolled(double mouseX, double mouseY, double horizontalAmount, double verticalAmount) {
-        for (UIPanel panel : panels) {
-            if (panel.isMouseOver(mouseX, mouseY) && panel.handleScrolling(horizontalAmount, verticalAmount)) {
-                return true;
-            }
+        if (eventRouter.mouseScrolled(mouseX, mouseY, horizontalAmount, verticalAmount)) {
+            return true;
         }
         return super.mouseScrolled(mouseX, mouseY, horizontalAmount, verticalAmount);
     }
 
     @Override
     public boolean mouseClicked(double mouseX, double mouseY, int button) {
-        for (UIPanel panel : panels) {
-            if (panel.mouseClicked(mouseX, mouseY, button)) {
-                return true;
-            }
+        if (eventRouter.mouseClicked(mouseX, mouseY, button)) {
+            return true;
         }
         return super.mouseClicked(mouseX, mouseY, button);
     }
 
     @Override
     public boolean mouseDragged(double mouseX, double mouseY, int button, double dragX, double dragY) {
-        for (UIPanel panel : panels) {
-            if (panel instanceof ScrollablePanel scrollablePanel) {
-                if (scrollablePanel.mouseDragged(mouseX, mouseY, button, dragX, dragY)) {
-                    return true;
-                }
-            }
+        // Drags may leave the panel bounds, so they go to the panel holding the pointer capture
+        if (eventRouter.mouseDragged(mouseX, mouseY, button, dragX, dragY)) {
+            return true;
         }
         return super.mouseDragged(mouseX, mouseY, button, dragX, dragY);
     }
 
     @Override
     public boolean mouseReleased(double mouseX, double mouseY, int button) {
-        for (UIPanel panel : panels) {
-            if (panel instanceof ScrollablePanel scrollablePanel) {
-                scrollablePanel.mouseReleased(mouseX, mouseY, button);
-            }
+        if (eventRouter.mouseReleased(mouseX, mouseY, button)) {
+            return true;
         }
         return super.mouseReleased(mouseX, mouseY, button);
     }
 
+    @Override
+    public void mouseMoved(double mouseX, double mouseY) {
+        eventRouter.mouseMoved(mouseX, mouseY);
+        super.mouseMoved(mouseX, mouseY);
+    }
+
     /**
      * Add a panel to the screen.
      */
     public <T extends UIPanel> void addPanel(T panel) {
-        panels.add(panel);
+        screenLayer.add(panel);
     }
 
     /**
      * Remove a panel from the screen.
      */
     public void removePanel(UIPanel panel) {
-        panels.remove(panel);
+        if (screenLayer.remove(panel)) {
+            panel.release();
+        }
+        eventRouter.forget(panel);
+    }
+
+    /**
+     * Show a tab's layer above the screen's panels, replacing the previous one. Null shows no tab.
+     */
+    public void setTabLayer(PanelLayer layer) {
+        if (layer == tabLayer) return;
+        tabLayer = layer;
+        // A drag or release must not reach a panel that is no longer shown
+        eventRouter.setTabLayer(layer);
+    }
+
+    /**
+     * Get the layer of the active tab, or null.
+     */
+    public PanelLayer getTabLayer() {
+        return tabLayer;
     }
 }
\ No newline at end of file
@@ -0,0 +1,173 @@
+package sypztep.tyrannus.client.screen;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.gui.Element;
+import sypztep.tyrannus.client.screen.panel.UIEvent;
+import sypztep.tyrannus.client.screen.panel.UIPanel;
+
+/**
+ * Routes the input of a screen to the panels of its layers.
+ * <p>
+ * Presses and scrolls go to the panels under the mouse, topmost first, found through the
+ * hit index of each layer. A panel that consumes a press captures the pointer: the drags and
+ * the release of that button go straight to it, and to the child widget that took the press,
+ * even after the mouse left its bounds. Moves and keys go to the capturing panel, or else to
+ * the topmost panel under the mouse.
+ */
+@Environment(EnvType.CLIENT)
+public final class EventRouter {
+    private final PanelLayer screenLayer;
+    private PanelLayer tabLayer;
+
+    private final UIEvent event = new UIEvent();
+
+    // Pointer capture, set by a consumed press and cleared by the release of its button
+    private UIPanel capturePanel;
+    private Element captureChild;
+    private int captureButton;
+
+    // Last known mouse position, for routing keys
+    private double mouseX = Double.NaN;
+    private double mouseY = Double.NaN;
+
+    public EventRouter(PanelLayer screenLayer) {
+        this.screenLayer = screenLayer;
+    }
+
+    /**
+     * Show a tab's layer above the screen layer, or none if null. Drops the pointer capture.
+     */
+    public void setTabLayer(PanelLayer tabLayer) {
+        this.tabLayer = tabLayer;
+        releaseCapture();
+    }
+
+    /**
+     * Get the topmost panel under the given point across both layers, or null.
+     */
+    public UIPanel findTopmost(double mouseX, double mouseY) {
+        if (tabLayer != null) {
+            UIPanel panel = tabLayer.getHitIndex().findTopmost(mouseX, mouseY);
+            if (panel != null) return panel;
+        }
+        return screenLayer.getHitIndex().findTopmost(mouseX, mouseY);
+    }
+
+    public boolean mouseClicked(double mouseX, double mouseY, int button) {
+        track(mouseX, mouseY);
+        event.pointer(UIEvent.Type.PRESS, mouseX, mouseY, button, 0, 0);
+        UIPanel panel = dispatchUnder(mouseX, mouseY);
+        if (panel == null) return false;
+
+        capturePanel = panel;
+        captureChild = event.getTarget();
+        captureButton = button;
+        return true;
+    }
+
+    public boolean mouseReleased(double mouseX, double mouseY, int button) {
+        track(mouseX, mouseY);
+        if (capturePanel == null || button != captureButton) return false;
+
+        UIPanel panel = capturePanel;
+        event.pointer(UIEvent.Type.RELEASE, mouseX, mouseY, button, 0, 0).capturedBy(captureChild);
+        releaseCapture();
+        return panel.dispatchEvent(event);
+    }
+
+    public boolean mouseDragged(double mouseX, double mouseY, int button, double dragX, double dragY) {
+        track(mouseX, mouseY);
+        if (capturePanel == null || button != captureButton) return false;
+
+        event.pointer(UIEvent.Type.DRAG, mouseX, mouseY, button, dragX, dragY).capturedBy(captureChild);
+        return capturePanel.dispatchEvent(event);
+    }
+
+    public void mouseMoved(double mouseX, double mouseY) {
+        track(mouseX, mouseY);
+        UIPanel panel = capturePanel != null ? capturePanel : findTopmost(mouseX, mouseY);
+        if (panel != null) {
+            panel.dispatchEvent(event.pointer(UIEvent.Type.MOVE, mouseX, mouseY, -1, 0, 0));
+        }
+    }
+
+    public boolean mouseScrolled(double mouseX, double mouseY, double horizontalAmount, double verticalAmount) {
+        track(mouseX, mouseY);
+        event.pointer(UIEvent.Type.SCROLL, mouseX, mouseY, -1, horizontalAmount, verticalAmount);
+        return dispatchUnder(mouseX, mouseY) != null;
+    }
+
+    public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+        return dispatchKey(event.key(UIEvent.Type.KEY_PRESS, keyCode, scanCode, modifiers));
+    }
+
+    public boolean keyReleased(int keyCode, int scanCode, int modifiers) {
+        return dispatchKey(event.key(UIEvent.Type.KEY_RELEASE, keyCode, scanCode, modifiers));
+    }
+
+    /**
+     * Send the following drags and release to a panel, as if it had consumed the press.
+     */
+    public void capture(UIPanel panel, int button) {
+        capturePanel = panel;
+        captureChild = null;
+        captureButton = button;
+    }
+
+    /**
+     * Stop sending drags and releases to the capturing panel.
+     */
+    public void releaseCapture() {
+        capturePanel = null;
+        captureChild = null;
+    }
+
+    /**
+     * Drop the pointer capture if it is held by a panel that is being removed.
+     */
+    public void forget(UIPanel panel) {
+        if (capturePanel == panel) {
+            releaseCapture();
+        }
+    }
+
+    public UIPanel getCapturePanel() {
+        return capturePanel;
+    }
+
+    private void track(double mouseX, double mouseY) {
+        this.mouseX = mouseX;
+        this.mouseY = mouseY;
+    }
+
+    private boolean dispatchKey(UIEvent event) {
+        UIPanel panel = capturePanel;
+        if (panel == null && !Double.isNaN(mouseX)) {
+            panel = findTopmost(mouseX, mouseY);
+        }
+        return panel != null && panel.dispatchEvent(event);
+    }
+
+    /**
+     * Offer the current event to the panels under the mouse, tab layer first.
+     *
+     * @return the panel that consumed it, or null
+     */
+    private UIPanel dispatchUnder(double mouseX, double mouseY) {
+        UIPanel panel = tabLayer != null ? dispatchLayer(tabLayer, mouseX, mouseY) : null;
+        return panel != null ? panel : dispatchLayer(screenLayer, mouseX, mouseY);
+    }
+
+    private UIPanel dispatchLayer(PanelLayer layer, double mouseX, double mouseY) {
+        PanelHitIndex hitIndex = layer.getHitIndex();
+        int hits = hitIndex.query(mouseX, mouseY);
+        for (int i = 0; i < hits; i++) {
+            UIPanel panel = hitIndex.getHit(i);
+            if (panel.dispatchEvent(event)) {
+                return panel;
+            }
+        }
+        return null;
+    }
+}
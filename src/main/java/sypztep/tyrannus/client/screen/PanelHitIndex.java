@@ -0,0 +1,156 @@
+package sypztep.tyrannus.client.screen;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import sypztep.tyrannus.client.screen.panel.UIPanel;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Uniform grid over panel bounds for resolving which panel is under the mouse.
+ * <p>
+ * Each cell lists the panels overlapping it in z-order, so a query only tests the
+ * few panels in one cell instead of every panel on the screen. The grid is rebuilt
+ * lazily after {@link #markDirty()}, which the panel layer calls when panels are added,
+ * removed or moved.
+ */
+@Environment(EnvType.CLIENT)
+public final class PanelHitIndex {
+    private static final int CELL_SIZE = 64;
+
+    private final List<UIPanel> panels;
+    private boolean dirty = true;
+
+    // Grid origin and size, in cells
+    private int originX;
+    private int originY;
+    private int columns;
+    private int rows;
+
+    // Compressed cell lists: entries[cellStarts[c] .. cellStarts[c + 1]) are panel indices, ascending
+    private int[] cellStarts = new int[1];
+    private int[] entries = new int[0];
+
+    // Result of the last query, topmost first
+    private UIPanel[] hits = new UIPanel[8];
+    private int hitCount = 0;
+
+    public PanelHitIndex(List<UIPanel> panels) {
+        this.panels = panels;
+    }
+
+    /**
+     * Request a rebuild before the next query.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Get the topmost panel under the given point, or null.
+     */
+    public UIPanel findTopmost(double mouseX, double mouseY) {
+        return query(mouseX, mouseY) > 0 ? hits[0] : null;
+    }
+
+    /**
+     * Collect every panel under the given point, topmost first.
+     *
+     * @return the number of hits, read them with {@link #getHit(int)}
+     */
+    public int query(double mouseX, double mouseY) {
+        if (dirty) rebuild();
+        hitCount = 0;
+
+        int column = Math.floorDiv((int)Math.floor(mouseX) - originX, CELL_SIZE);
+        int row = Math.floorDiv((int)Math.floor(mouseY) - originY, CELL_SIZE);
+        if (column < 0 || row < 0 || column >= columns || row >= rows) return 0;
+
+        int cell = row * columns + column;
+        // Later panels render on top, so walk the cell backwards
+        for (int i = cellStarts[cell + 1] - 1; i >= cellStarts[cell]; i--) {
+            UIPanel panel = panels.get(entries[i]);
+            if (panel.isMouseOver(mouseX, mouseY)) {
+                if (hitCount == hits.length) hits = Arrays.copyOf(hits, hitCount * 2);
+                hits[hitCount++] = panel;
+            }
+        }
+        return hitCount;
+    }
+
+    public UIPanel getHit(int index) {
+        return hits[index];
+    }
+
+    private void rebuild() {
+        dirty = false;
+        Arrays.fill(hits, null);
+        hitCount = 0;
+
+        if (panels.isEmpty()) {
+            columns = 0;
+            rows = 0;
+            return;
+        }
+
+        // Cover the union of all panel bounds
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (UIPanel panel : panels) {
+            minX = Math.min(minX, panel.getX());
+            minY = Math.min(minY, panel.getY());
+            maxX = Math.max(maxX, panel.getX() + panel.getWidth());
+            maxY = Math.max(maxY, panel.getY() + panel.getHeight());
+        }
+        originX = minX;
+        originY = minY;
+        columns = Math.max(1, (maxX - minX + CELL_SIZE - 1) / CELL_SIZE);
+        rows = Math.max(1, (maxY - minY + CELL_SIZE - 1) / CELL_SIZE);
+
+        int cellCount = columns * rows;
+        if (cellStarts.length < cellCount + 1) {
+            cellStarts = new int[cellCount + 1];
+        } else {
+            Arrays.fill(cellStarts, 0);
+        }
+
+        // Count entries per cell, then turn the counts into start offsets
+        for (UIPanel panel : panels) {
+            forEachCell(panel, cell -> cellStarts[cell + 1]++);
+        }
+        for (int c = 0; c < cellCount; c++) {
+            cellStarts[c + 1] += cellStarts[c];
+        }
+
+        int total = cellStarts[cellCount];
+        if (entries.length < total) {
+            entries = new int[total];
+        }
+        int[] fill = Arrays.copyOf(cellStarts, cellCount);
+        for (int i = 0; i < panels.size(); i++) {
+            int panelIndex = i;
+            forEachCell(panels.get(i), cell -> entries[fill[cell]++] = panelIndex);
+        }
+    }
+
+    private void forEachCell(UIPanel panel, CellVisitor visitor) {
+        if (panel.getWidth() <= 0 || panel.getHeight() <= 0) return;
+
+        int firstColumn = (panel.getX() - originX) / CELL_SIZE;
+        int firstRow = (panel.getY() - originY) / CELL_SIZE;
+        int lastColumn = Math.min(columns - 1, (panel.getX() + panel.getWidth() - 1 - originX) / CELL_SIZE);
+        int lastRow = Math.min(rows - 1, (panel.getY() + panel.getHeight() - 1 - originY) / CELL_SIZE);
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                visitor.visit(row * columns + column);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface CellVisitor {
+        void visit(int cell);
+    }
+}
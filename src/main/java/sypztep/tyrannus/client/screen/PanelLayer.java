@@ -0,0 +1,77 @@
+package sypztep.tyrannus.client.screen;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import sypztep.tyrannus.client.screen.panel.UIPanel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A group of panels shown together, in z-order, with its own hit index.
+ * <p>
+ * A screen stacks a persistent layer under the layer of the active tab. Each tab keeps
+ * its layer while inactive, so switching tabs swaps one reference and the hit index of
+ * the new layer is still valid unless its panels moved.
+ */
+@Environment(EnvType.CLIENT)
+public final class PanelLayer {
+    private final List<UIPanel> panels = new ArrayList<>();
+    private final List<UIPanel> view = Collections.unmodifiableList(panels);
+    private final PanelHitIndex hitIndex = new PanelHitIndex(panels);
+    private final Runnable markHitIndexDirty = hitIndex::markDirty;
+
+    /**
+     * Add a panel on top of the layer.
+     */
+    public void add(UIPanel panel) {
+        panels.add(panel);
+        panel.setBoundsListener(markHitIndexDirty);
+        hitIndex.markDirty();
+    }
+
+    /**
+     * Remove a panel from the layer.
+     *
+     * @return whether the panel was in the layer
+     */
+    public boolean remove(UIPanel panel) {
+        if (!panels.remove(panel)) return false;
+        panel.setBoundsListener(null);
+        hitIndex.markDirty();
+        return true;
+    }
+
+    /**
+     * Remove every panel, releasing their resources.
+     */
+    public void clear() {
+        for (UIPanel panel : panels) {
+            panel.setBoundsListener(null);
+            panel.release();
+        }
+        panels.clear();
+        hitIndex.markDirty();
+    }
+
+    /**
+     * Release the resources of every panel, keeping them in the layer.
+     */
+    public void release() {
+        for (UIPanel panel : panels) {
+            panel.release();
+        }
+    }
+
+    /**
+     * Get the panels in z-order, bottom first.
+     */
+    public List<UIPanel> getPanels() {
+        return view;
+    }
+
+    public PanelHitIndex getHitIndex() {
+        return hitIndex;
+    }
+}
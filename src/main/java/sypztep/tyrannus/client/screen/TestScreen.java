@@ -3,12 +3,16 @@ package sypztep.tyrannus.client.screen;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
 import sypztep.tyrannus.client.screen.panel.Button;
+import sypztep.tyrannus.client.screen.tab.Tab;
 import sypztep.tyrannus.client.screen.tab.TabManager;
 import sypztep.tyrannus.client.screen.tab.exam.ButtonTab;
 import sypztep.tyrannus.client.screen.tab.exam.QuestsTab;
 import sypztep.tyrannus.client.screen.tab.exam.SkillsTab;
 
 public class TestScreen extends BaseScreen {
+    // The key binding opens a new screen each time, so the selected tab outlives the instance
+    private static String lastTabId = null;
+
     public TestScreen() {
         super(Text.of("Test"));
     }
@@ -16,8 +20,21 @@ public class TestScreen extends BaseScreen {
     @Override
     protected void initPanels() {
         tabManager = new TabManager(this);
+        tabManager.setPrefetchOnHover(true);
         tabManager.registerTab(new SkillsTab());
         tabManager.registerTab(new QuestsTab());
         tabManager.registerTab(new ButtonTab());
+        if (lastTabId != null) {
+            tabManager.setInitialTab(lastTabId);
+        }
+    }
+
+    @Override
+    public void removed() {
+        Tab activeTab = tabManager != null ? tabManager.getActiveTab() : null;
+        if (activeTab != null) {
+            lastTabId = activeTab.getId();
+        }
+        super.removed();
     }
-}
\ No newline at end of file
+}
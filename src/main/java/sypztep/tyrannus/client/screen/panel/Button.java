@@ -5,6 +5,12 @@ import net.minecraft.client.sound.PositionedSoundInstance;
 import net.minecraft.sound.SoundEvents;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
+import sypztep.tyrannus.client.animation.AnimatedFloat;
+import sypztep.tyrannus.client.animation.Easing;
+import sypztep.tyrannus.client.render.QuadBatcher;
+import sypztep.tyrannus.client.text.TextMetricsCache;
+import sypztep.tyrannus.common.util.ColorRamp;
+import sypztep.tyrannus.common.util.ColorUtil;
 
 import java.util.function.Consumer;
 
@@ -24,9 +30,12 @@ public class Button extends UIPanel {
     private static final int BUTTON_TEXT_HOVER = 0xFFFFFFFF;
     private static final int BUTTON_TEXT_DISABLED = 0xFF666666;
 
+    private static final ColorRamp BG_HOVER_RAMP = ColorUtil.ramp(BUTTON_BG_NORMAL, BUTTON_BG_HOVER);
+    private static final ColorRamp TEXT_HOVER_RAMP = ColorUtil.ramp(BUTTON_TEXT_NORMAL, BUTTON_TEXT_HOVER);
+
     // Button state
-    private final Consumer<Button> onClick;
-    private final Identifier icon;
+    private Consumer<Button> onClick;
+    private Identifier icon;
     private boolean isPressed = false;
     private boolean isEnabled = true;
     private boolean playHoverSound = true;
@@ -34,8 +43,8 @@ public class Button extends UIPanel {
     private boolean wasHovered = false; // Track previous hover state
 
     // Animations
-    private float pressAnimation = 0.0f;
-    private float scaleAnimation = 1.0f;
+    private final AnimatedFloat pressAnimation = new AnimatedFloat(0.0f, 150);
+    private final AnimatedFloat scaleAnimation = new AnimatedFloat(1.0f, 120, Easing.EASE_OUT_CUBIC);
 
     // Visual properties
     private float glowIntensity = 1.0f;
@@ -65,7 +74,7 @@ public class Button extends UIPanel {
     @Override
     protected void renderContents(DrawContext context, int mouseX, int mouseY, float delta) {
         // Update animations
-        updateAnimations(delta);
+        updateAnimations();
 
         // Handle hover sound
         handleHoverSound();
@@ -76,7 +85,7 @@ public class Button extends UIPanel {
 
         // Apply scale animation
         context.getMatrices().push();
-        float scale = 1.0f + ((scaleAnimation - 1.0f) * bounceIntensity);
+        float scale = 1.0f + ((scaleAnimation.get() - 1.0f) * bounceIntensity);
         context.getMatrices().translate(x + width/2, y + height/2, 0);
         context.getMatrices().scale(scale, scale, 1.0f);
         context.getMatrices().translate(-(x + width/2), -(y + height/2), 0);
@@ -85,7 +94,7 @@ public class Button extends UIPanel {
         if (useRoundedCorners) {
             drawRoundedBackground(context, bgColor);
         } else {
-            context.fill(x, y, x + width, y + height, bgColor);
+            QuadBatcher.fill(context, x, y, x + width, y + height, bgColor);
         }
 
         // Draw gradient effect
@@ -107,20 +116,25 @@ public class Button extends UIPanel {
         context.getMatrices().pop();
     }
 
-    private void updateAnimations(float delta) {
+    @Override
+    public boolean isAnimating() {
+        return super.isAnimating() || !pressAnimation.isSettled() || !scaleAnimation.isSettled();
+    }
+
+    private void updateAnimations() {
+        // Pressing is quicker than releasing
         if (isPressed) {
-            pressAnimation = Math.min(1.0f, pressAnimation + 0.2f);
-            scaleAnimation = Math.max(0.95f, 1.0f - (pressAnimation * 0.05f));
+            pressAnimation.animateTo(1.0f, 80);
         } else {
-            pressAnimation = Math.max(0.0f, pressAnimation - 0.1f);
-            scaleAnimation = Math.min(1.0f, scaleAnimation + 0.1f);
+            pressAnimation.animateTo(0.0f);
         }
 
-        // Hover scale animation
-        if (isHovered && isEnabled) {
-            scaleAnimation = Math.min(1.05f, scaleAnimation + 0.01f);
+        if (isPressed) {
+            scaleAnimation.animateTo(0.95f);
+        } else if (isHovered && isEnabled) {
+            scaleAnimation.animateTo(1.05f, 200);
         } else {
-            scaleAnimation = Math.max(1.0f, scaleAnimation - 0.01f);
+            scaleAnimation.animateTo(1.0f);
         }
     }
 
@@ -137,33 +151,36 @@ public class Button extends UIPanel {
     protected void drawRoundedBackground(DrawContext context, int color) {
         // Simple rounded corners implementation
         // Top-left corner
-        context.fill(x + cornerRadius, y, x + width - cornerRadius, y + height, color);
-        context.fill(x, y + cornerRadius, x + width, y + height - cornerRadius, color);
+        QuadBatcher.fill(context, x + cornerRadius, y, x + width - cornerRadius, y + height, color);
+        QuadBatcher.fill(context, x, y + cornerRadius, x + width, y + height - cornerRadius, color);
     }
 
     private void drawGradientEffect(DrawContext context, int baseColor) {
-        int topGradient = lightenColor(baseColor, 0.2f);
-        int bottomGradient = darkenColor(baseColor, 0.2f);
+        int topGradient = ColorUtil.lighten(baseColor, 0.2f);
+        int bottomGradient = ColorUtil.darken(baseColor, 0.2f);
 
         float gradientHeight = height * 0.15f;
-        context.fill(x, y, x + width, y + (int)gradientHeight, topGradient);
-        context.fill(x, y + height - (int)gradientHeight, x + width, y + height, bottomGradient);
+        QuadBatcher.fill(context, x, y, x + width, y + (int)gradientHeight, topGradient);
+        QuadBatcher.fill(context, x, y + height - (int)gradientHeight, x + width, y + height, bottomGradient);
     }
 
     private void drawShadow(DrawContext context) {
         int shadowColor = 0x66000000;
         int shadowOffset = 2;
-        context.fill(x + shadowOffset, y + shadowOffset,
+        QuadBatcher.fill(context, x + shadowOffset, y + shadowOffset,
                 x + width + shadowOffset, y + height + shadowOffset,
                 shadowColor);
     }
 
     private void drawContent(DrawContext context, int textColor) {
-        int textWidth = textRenderer.getWidth(title);
+        int textWidth = TextMetricsCache.getWidth(title);
         int textX;
         int textY = y + (height - textRenderer.fontHeight) / 2;
         int iconSize = 16;
 
+        // Icon and text draw directly, so submit the batched background first
+        QuadBatcher.flush(context);
+
         // Handle icon
         if (icon != null) {
             int totalWidth = textWidth + iconSize + 5;
@@ -171,7 +188,7 @@ public class Button extends UIPanel {
             int iconY = y + (height - iconSize) / 2;
 
             // Apply press animation to icon
-            iconY += pressAnimation * 1.5f;
+            iconY += pressAnimation.get() * 1.5f;
             context.drawGuiTexture(icon, startX, iconY, iconSize, iconSize);
             textX = startX + iconSize + 5;
         } else {
@@ -179,8 +196,8 @@ public class Button extends UIPanel {
         }
 
         // Apply press animation to text
-        textY += pressAnimation * 1.5f;
-        context.drawTextWithShadow(textRenderer, title, textX, textY, textColor);
+        textY += pressAnimation.get() * 1.5f;
+        context.drawTextWithShadow(textRenderer, TextMetricsCache.getOrderedText(title), textX, textY, textColor);
     }
 
     private void drawGlowEffect(DrawContext context) {
@@ -189,24 +206,20 @@ public class Button extends UIPanel {
         int glowSize = 1;
 
         // Draw glow border
-        context.fill(x - glowSize, y - glowSize, x + width + glowSize, y, glowColor);
-        context.fill(x - glowSize, y + height, x + width + glowSize, y + height + glowSize, glowColor);
-        context.fill(x - glowSize, y, x, y + height, glowColor);
-        context.fill(x + width, y, x + width + glowSize, y + height, glowColor);
+        QuadBatcher.fill(context, x - glowSize, y - glowSize, x + width + glowSize, y, glowColor);
+        QuadBatcher.fill(context, x - glowSize, y + height, x + width + glowSize, y + height + glowSize, glowColor);
+        QuadBatcher.fill(context, x - glowSize, y, x, y + height, glowColor);
+        QuadBatcher.fill(context, x + width, y, x + width + glowSize, y + height, glowColor);
     }
 
     private int calculateBackgroundColor() {
         if (!isEnabled) return BUTTON_BG_DISABLED;
-        return interpolateColor(
-                interpolateColor(BUTTON_BG_NORMAL, BUTTON_BG_HOVER, hoverAnimation),
-                BUTTON_BG_PRESSED,
-                pressAnimation
-        );
+        return ColorUtil.lerp(BG_HOVER_RAMP.get(hoverAnimation), BUTTON_BG_PRESSED, pressAnimation.get());
     }
 
     private int calculateTextColor() {
         if (!isEnabled) return BUTTON_TEXT_DISABLED;
-        return interpolateColor(BUTTON_TEXT_NORMAL, BUTTON_TEXT_HOVER, hoverAnimation);
+        return TEXT_HOVER_RAMP.get(hoverAnimation);
     }
 
     @Override
@@ -226,6 +239,13 @@ public class Button extends UIPanel {
         return false;
     }
 
+    @Override
+    public boolean mouseReleased(double mouseX, double mouseY, int button) {
+        if (!isPressed) return false;
+        isPressed = false;
+        return true;
+    }
+
     public void setWasHovered(boolean wasHovered) {
         this.wasHovered = wasHovered;
     }
@@ -269,7 +289,14 @@ public class Button extends UIPanel {
     }
 
     public Consumer<Button> setOnClick(Consumer<Button> click) {
-        return click;
+        Consumer<Button> previous = this.onClick;
+        this.onClick = click;
+        return previous;
+    }
+
+    public Button setIcon(Identifier icon) {
+        this.icon = icon;
+        return this;
     }
 
     public Consumer<Button> getOnClick() {
@@ -297,7 +324,29 @@ public class Button extends UIPanel {
     }
 
     public float getPressAnimation() {
-        return pressAnimation;
+        return pressAnimation.get();
+    }
+
+    /**
+     * Drop the click handler and icon and go back to the default look and state.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        onClick = null;
+        icon = null;
+        isPressed = false;
+        isEnabled = true;
+        playHoverSound = true;
+        playClickSound = true;
+        wasHovered = false;
+        pressAnimation.set(0.0f);
+        scaleAnimation.set(1.0f);
+        glowIntensity = 1.0f;
+        bounceIntensity = 1.0f;
+        useRoundedCorners = true;
+        cornerRadius = 4;
+        shadowIntensity = 1.0f;
     }
 
     @Override
@@ -307,36 +356,4 @@ public class Button extends UIPanel {
             isPressed = false;
         }
     }
-
-    /**
-     * Lighten a color by a factor.
-     */
-    private int lightenColor(int color, float factor) {
-        int a = (color >> 24) & 0xFF;
-        int r = (color >> 16) & 0xFF;
-        int g = (color >> 8) & 0xFF;
-        int b = color & 0xFF;
-
-        r = Math.min(255, (int)(r + (255 - r) * factor));
-        g = Math.min(255, (int)(g + (255 - g) * factor));
-        b = Math.min(255, (int)(b + (255 - b) * factor));
-
-        return (a << 24) | (r << 16) | (g << 8) | b;
-    }
-
-    /**
-     * Darken a color by a factor.
-     */
-    private int darkenColor(int color, float factor) {
-        int a = (color >> 24) & 0xFF;
-        int r = (color >> 16) & 0xFF;
-        int g = (color >> 8) & 0xFF;
-        int b = color & 0xFF;
-
-        r = Math.max(0, (int)(r * (1 - factor)));
-        g = Math.max(0, (int)(g * (1 - factor)));
-        b = Math.max(0, (int)(b * (1 - factor)));
-
-        return (a << 24) | (r << 16) | (g << 8) | b;
-    }
 }
\ No newline at end of file
@@ -5,22 +5,28 @@ import net.minecraft.text.OrderedText;
 import net.minecraft.text.Text;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * A panel that displays text information in paragraphs.
+ * Paragraphs are wrapped once per wrap width and the content height is kept up to date incrementally.
+ * An index of paragraph offsets lets rendering start at the first visible line.
+ * The text can be cached in offscreen tiles with {@link #setContentCached}, so scrolling does not redraw it.
  */
 public class InfoPanel extends ScrollablePanel {
-    private final List<Text> paragraphs = new ArrayList<>();
+    private final List<Paragraph> paragraphs = new ArrayList<>();
     private final int textColor;
 
-    public InfoPanel(int x, int y, int width, int height, Text title) {
-        this(x, y, width, height, title, 0xFFFFFFFF);
-    }
+    // Width the paragraphs are currently wrapped to, and their total line count
+    private int wrapWidth = -1;
+    private int totalLines = 0;
 
-    @Override
-    protected void renderScrollableContent(DrawContext context, int mouseX, int mouseY, float delta) {
+    // paragraphTops[i] = y offset of paragraph i from the top of the content (prefix sums)
+    private int[] paragraphTops = new int[16];
 
+    public InfoPanel(int x, int y, int width, int height, Text title) {
+        this(x, y, width, height, title, 0xFFFFFFFF);
     }
 
     public InfoPanel(int x, int y, int width, int height, Text title, int textColor) {
@@ -30,10 +36,25 @@ public class InfoPanel extends ScrollablePanel {
 
     /**
      * Add a paragraph of text to the panel.
+     * Only the new paragraph is wrapped.
      */
     public void addParagraph(Text text) {
-        paragraphs.add(text);
+        Paragraph paragraph = new Paragraph(text);
+        paragraphs.add(paragraph);
+
+        if (wrapWidth < 0) {
+            wrapWidth = getWrapWidth();
+        }
+        paragraph.wrap(wrapWidth);
+
+        int index = paragraphs.size() - 1;
+        ensureIndexCapacity(index + 1);
+        paragraphTops[index] = totalLines * textRenderer.fontHeight + index * padding;
+        totalLines += paragraph.lines.size();
         updateContentHeight();
+
+        // Text above the new paragraph is unchanged
+        invalidateContent(paragraphTops[index], Integer.MAX_VALUE);
     }
 
     /**
@@ -41,45 +62,118 @@ public class InfoPanel extends ScrollablePanel {
      */
     public void clearParagraphs() {
         paragraphs.clear();
+        totalLines = 0;
         updateContentHeight();
+        invalidateContent();
     }
 
     /**
-     * Update the content height based on the text.
+     * Width available to the text, accounting for the scrollbar.
      */
-    private void updateContentHeight() {
-        int height = 0;
-        int availableWidth = getContentWidth() - 10; // account for scrollbar
+    private int getWrapWidth() {
+        return getContentWidth() - 10;
+    }
 
-        for (Text paragraph : paragraphs) {
-            height += textRenderer.wrapLines(paragraph, availableWidth).size() * textRenderer.fontHeight;
-            height += padding; // space between paragraphs
+    /**
+     * Re-wrap every paragraph if the available width changed since they were wrapped.
+     */
+    private void ensureWrapped() {
+        int width = getWrapWidth();
+        if (width == wrapWidth) return;
+
+        wrapWidth = width;
+        totalLines = 0;
+        ensureIndexCapacity(paragraphs.size());
+        for (int i = 0; i < paragraphs.size(); i++) {
+            Paragraph paragraph = paragraphs.get(i);
+            paragraph.wrap(width);
+            paragraphTops[i] = totalLines * textRenderer.fontHeight + i * padding;
+            totalLines += paragraph.lines.size();
         }
+        updateContentHeight();
+        invalidateContent();
+    }
 
-        setContentHeight(height);
+    private void ensureIndexCapacity(int size) {
+        if (size > paragraphTops.length) {
+            paragraphTops = Arrays.copyOf(paragraphTops, Math.max(size, paragraphTops.length * 2));
+        }
     }
 
-    @Override
-    protected void renderContents(DrawContext context, int mouseX, int mouseY, float delta) {
-        int x = getContentX();
-        int y = getContentY();
-        int width = getContentWidth() - 10; // account for scrollbar
+    /**
+     * Find the last paragraph starting at or above the given content offset.
+     */
+    private int findParagraph(int offset) {
+        int low = 0;
+        int high = paragraphs.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (paragraphTops[mid] <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
 
-        // Apply scrolling offset
-        int yOffset = -(int) scrollAmount;
+    /**
+     * Update the content height from the cached line count.
+     */
+    private void updateContentHeight() {
+        // Lines plus the space between paragraphs
+        setContentHeight(totalLines * textRenderer.fontHeight + paragraphs.size() * padding);
+    }
 
-        // Render each paragraph
-        for (Text paragraph : paragraphs) {
-            List<OrderedText> lines = textRenderer.wrapLines(paragraph, width);
+    @Override
+    protected void updateMaxScroll() {
+        // Re-wrapping changes the content height, so it happens before the scroll range is derived from it
+        ensureWrapped();
+        super.updateMaxScroll();
+    }
 
-            for (OrderedText line : lines) {
-                if (yOffset + y >= getContentY() && yOffset + y + textRenderer.fontHeight <= getContentY() + getContentHeight()) {
-                    context.drawText(textRenderer, line, x, y + yOffset, textColor, true);
-                }
-                yOffset += textRenderer.fontHeight;
+    @Override
+    protected void renderScrollableContent(DrawContext context, int mouseX, int mouseY, float delta) {
+        if (paragraphs.isEmpty()) return;
+
+        int x = getContentX();
+        int top = getContentY();
+        int bottom = top + getContentHeight();
+        int fontHeight = textRenderer.fontHeight;
+        int scroll = (int) scrollAmount;
+
+        // Jump straight to the first paragraph and line at the scroll position
+        int paragraphIndex = findParagraph(scroll);
+        int paragraphY = top + paragraphTops[paragraphIndex] - scroll;
+        // Lines cut by the edges of the viewport are drawn and clipped
+        int lineIndex = Math.max(0, (top - paragraphY) / fontHeight);
+
+        for (; paragraphIndex < paragraphs.size(); paragraphIndex++) {
+            List<OrderedText> lines = paragraphs.get(paragraphIndex).lines;
+            paragraphY = top + paragraphTops[paragraphIndex] - scroll;
+
+            for (; lineIndex < lines.size(); lineIndex++) {
+                int lineY = paragraphY + lineIndex * fontHeight;
+                if (lineY >= bottom) return; // Past the bottom of the viewport
+                context.drawText(textRenderer, lines.get(lineIndex), x, lineY, textColor, true);
             }
+            lineIndex = 0;
+        }
+    }
+
+    /**
+     * A paragraph and its wrapped lines.
+     */
+    private final class Paragraph {
+        final Text text;
+        List<OrderedText> lines = List.of();
+
+        Paragraph(Text text) {
+            this.text = text;
+        }
 
-            yOffset += padding; // Add space between paragraphs
+        void wrap(int width) {
+            lines = textRenderer.wrapLines(text, width);
         }
     }
-}
\ No newline at end of file
+}
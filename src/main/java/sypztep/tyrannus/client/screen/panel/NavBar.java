@@ -3,16 +3,21 @@ package sypztep.tyrannus.client.screen.panel;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
-import net.minecraft.util.math.MathHelper;
+import sypztep.tyrannus.client.animation.AnimatedFloat;
+import sypztep.tyrannus.client.animation.Easing;
+import sypztep.tyrannus.client.render.QuadBatcher;
+import sypztep.tyrannus.client.text.TextMetricsCache;
+import sypztep.tyrannus.common.util.ColorRamp;
+import sypztep.tyrannus.common.util.ColorUtil;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Consumer;
 
 /**
  * A navigation bar component for switching between different sections/panels.
+ * Item offsets along the bar are cached and rebuilt only when the items change,
+ * and items that do not fit can be scrolled, only the visible ones are drawn and hit-tested.
  */
 public class NavBar extends UIPanel {
     private final List<NavItem> items = new ArrayList<>();
@@ -21,16 +26,28 @@ public class NavBar extends UIPanel {
     private int itemSpacing = 5;
     private boolean horizontal = true; // true for horizontal, false for vertical
 
+    // Item geometry along the bar, relative to the first item: itemStarts[i] .. itemStarts[i] + itemSizes[i]
+    private int[] itemStarts = new int[8];
+    private int[] itemSizes = new int[8];
+    private int itemsLength = 0;
+    private boolean geometryDirty = true;
+    private int geometryTextGeneration = -1;
+
+    // Overflow scrolling along the bar
+    private float scrollOffset = 0;
+    private static final int SCROLL_SPEED = 20;
+
     // Animation state
-    private final Map<Integer, Float> hoverAnimations = new HashMap<>();
-    private float selectionAnimX = 0;
-    private float selectionAnimWidth = 0;
-    private float selectionTargetX = 0;
-    private float selectionTargetWidth = 0;
+    private final List<AnimatedFloat> hoverAnimations = new ArrayList<>();
+    private int hoveredIndex = -1;
+    private Consumer<String> hoverListener;
+    private final AnimatedFloat selectionAnimX = new AnimatedFloat(0, SELECTION_ANIMATION_MS, Easing.EASE_OUT_CUBIC);
+    private final AnimatedFloat selectionAnimWidth = new AnimatedFloat(0, SELECTION_ANIMATION_MS, Easing.EASE_OUT_CUBIC);
+    private boolean selectionInitialized = false;
 
-    // Animation speed constants
-    private static final float HOVER_ANIMATION_SPEED = 0.7f; // Faster hover speed
-    private static final float SELECTION_ANIMATION_SPEED = 0.4f; // Faster selection animation
+    // Animation durations
+    private static final long HOVER_ANIMATION_MS = 60; // Fast hover response
+    private static final long SELECTION_ANIMATION_MS = 200;
 
     // Colors
     private static final int BG_COLOR = 0xFF1E1E1E;
@@ -38,6 +55,7 @@ public class NavBar extends UIPanel {
     private static final int ACTIVE_COLOR = 0xFFFFFFFF;
     private static final int HOVER_COLOR = 0xFFE0E0E0;
     private static final int ACTIVE_INDICATOR = 0xFFFFCC00; // Yellow
+    private static final ColorRamp INACTIVE_HOVER_RAMP = ColorUtil.ramp(INACTIVE_COLOR, HOVER_COLOR);
 
     public NavBar(int x, int y, int width, int height) {
         super(x, y, width, height, null);
@@ -50,6 +68,8 @@ public class NavBar extends UIPanel {
     public NavBar addItem(String id, Text label, Identifier icon, Consumer<String> onSelect) {
         NavItem item = new NavItem(id, label, icon, onSelect);
         items.add(item);
+        hoverAnimations.add(new AnimatedFloat(0f, HOVER_ANIMATION_MS, Easing.LINEAR));
+        geometryDirty = true;
         return this;
     }
 
@@ -60,6 +80,28 @@ public class NavBar extends UIPanel {
         return addItem(id, label, null, onSelect);
     }
 
+    /**
+     * Change the label of an item.
+     */
+    public void setItemLabel(String id, Text label) {
+        for (int i = 0; i < items.size(); i++) {
+            NavItem item = items.get(i);
+            if (item.id.equals(id)) {
+                items.set(i, new NavItem(item.id, label, item.icon, item.onSelect));
+                geometryDirty = true;
+                if (i == selectedIndex) updateSelectionAnimation();
+                break;
+            }
+        }
+    }
+
+    /**
+     * Set a listener told the ID of the item the mouse moves onto, or null when it leaves the items.
+     */
+    public void setHoverListener(Consumer<String> hoverListener) {
+        this.hoverListener = hoverListener;
+    }
+
     /**
      * Set the active item by ID.
      */
@@ -73,174 +115,267 @@ public class NavBar extends UIPanel {
         }
     }
 
+    /**
+     * Rebuild the cached item offsets if the items or the font changed.
+     */
+    private void ensureGeometry() {
+        if (!geometryDirty && geometryTextGeneration == TextMetricsCache.getGeneration()) return;
+        geometryDirty = false;
+        geometryTextGeneration = TextMetricsCache.getGeneration();
+
+        int count = items.size();
+        if (itemStarts.length < count) {
+            itemStarts = new int[Math.max(count, itemStarts.length * 2)];
+            itemSizes = new int[itemStarts.length];
+        }
+
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            NavItem item = items.get(i);
+            int size = horizontal ? getItemWidth(item) : getItemHeight(item);
+            itemStarts[i] = offset;
+            itemSizes[i] = size;
+            offset += size + itemSpacing;
+        }
+        itemsLength = count > 0 ? offset - itemSpacing : 0;
+        clampScroll();
+    }
+
+    /**
+     * Length of the bar available to items, along its main axis.
+     */
+    private int getViewLength() {
+        return (horizontal ? width : height) - itemPadding * 2;
+    }
+
+    /**
+     * Screen position of the first item along the main axis, before scrolling.
+     */
+    private int getItemsOrigin() {
+        return (horizontal ? x : y) + itemPadding;
+    }
+
+    private int getMaxScroll() {
+        return Math.max(0, itemsLength - getViewLength());
+    }
+
+    private void clampScroll() {
+        scrollOffset = Math.max(0, Math.min(scrollOffset, getMaxScroll()));
+    }
+
+    /**
+     * Find the item covering an offset along the bar, or -1 if the offset falls in a gap.
+     */
+    private int findItemAt(int offset) {
+        int count = items.size();
+        if (count == 0 || offset < 0 || offset >= itemsLength) return -1;
+
+        int low = 0;
+        int high = count - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (itemStarts[mid] <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return offset < itemStarts[low] + itemSizes[low] ? low : -1;
+    }
+
+    /**
+     * Find the item under the mouse, or -1.
+     */
+    private int findItemAt(double mouseX, double mouseY) {
+        int itemCrossStart;
+        int itemCrossEnd;
+        double along;
+        if (horizontal) {
+            itemCrossStart = y + itemPadding;
+            itemCrossEnd = y + height - itemPadding;
+            along = mouseX;
+        } else {
+            itemCrossStart = x + itemPadding;
+            itemCrossEnd = x + width - itemPadding;
+            along = mouseY;
+        }
+        double across = horizontal ? mouseY : mouseX;
+        if (across < itemCrossStart || across >= itemCrossEnd) return -1;
+
+        // Items scrolled outside the bar cannot be hit
+        int origin = getItemsOrigin();
+        if (along < origin || along >= origin + getViewLength()) return -1;
+
+        return findItemAt((int)Math.floor(along - origin + scrollOffset));
+    }
+
     /**
      * Update the target position for selection animation.
      */
     private void updateSelectionAnimation() {
         if (items.isEmpty()) return;
+        ensureGeometry();
 
-        if (horizontal) {
-            int itemX = x + itemPadding;
-            for (int i = 0; i < items.size(); i++) {
-                if (i == selectedIndex) {
-                    int width = getItemWidth(items.get(i));
-                    selectionTargetX = itemX;
-                    selectionTargetWidth = width;
-
-                    // Initialize position if this is the first selection
-                    if (selectionAnimX == 0 && selectionAnimWidth == 0) {
-                        selectionAnimX = selectionTargetX;
-                        selectionAnimWidth = selectionTargetWidth;
-                    }
-                    break;
-                }
-                itemX += getItemWidth(items.get(i)) + itemSpacing;
-            }
+        int start = itemStarts[selectedIndex];
+        int size = itemSizes[selectedIndex];
+        moveSelection(start, size);
+
+        // Keep the selected item in view
+        if (start < scrollOffset) {
+            scrollOffset = start;
+        } else if (start + size > scrollOffset + getViewLength()) {
+            scrollOffset = start + size - getViewLength();
+        }
+        clampScroll();
+    }
+
+    /**
+     * Slide the selection indicator to a new position along the bar.
+     */
+    private void moveSelection(float position, float size) {
+        // Jump straight there on the first selection
+        if (!selectionInitialized) {
+            selectionAnimX.set(position);
+            selectionAnimWidth.set(size);
+            selectionInitialized = true;
         } else {
-            int itemY = y + itemPadding;
-            for (int i = 0; i < items.size(); i++) {
-                if (i == selectedIndex) {
-                    int height = getItemHeight(items.get(i));
-                    selectionTargetX = itemY;
-                    selectionTargetWidth = height;
-
-                    // Initialize position if this is the first selection
-                    if (selectionAnimX == 0 && selectionAnimWidth == 0) {
-                        selectionAnimX = selectionTargetX;
-                        selectionAnimWidth = selectionTargetWidth;
-                    }
-                    break;
-                }
-                itemY += getItemHeight(items.get(i)) + itemSpacing;
-            }
+            selectionAnimX.animateTo(position);
+            selectionAnimWidth.animateTo(size);
         }
     }
 
+    @Override
+    public boolean isAnimating() {
+        if (super.isAnimating() || !selectionAnimX.isSettled() || !selectionAnimWidth.isSettled()) return true;
+        for (int i = 0; i < hoverAnimations.size(); i++) {
+            if (!hoverAnimations.get(i).isSettled()) return true;
+        }
+        return false;
+    }
+
     @Override
     public void render(DrawContext context, int mouseX, int mouseY, float delta) {
-        // Animate selection indicator with faster speed
-        selectionAnimX = MathHelper.lerp(SELECTION_ANIMATION_SPEED * delta, selectionAnimX, selectionTargetX);
-        selectionAnimWidth = MathHelper.lerp(SELECTION_ANIMATION_SPEED * delta, selectionAnimWidth, selectionTargetWidth);
+        ensureGeometry();
+        clampScroll(); // The bar may have been resized
 
         // Update hover animations
-        updateHoverAnimations(mouseX, mouseY, delta);
+        isHovered = resolveHovered(mouseX, mouseY);
+        updateHoverAnimations(mouseX, mouseY);
 
         // Draw background
-        context.fill(x, y, x + width, y + height, BG_COLOR);
+        QuadBatcher.fill(context, x, y, x + width, y + height, BG_COLOR);
 
-        // Draw items
+        // Clip items that are scrolled out of the bar
+        QuadBatcher.enableScissor(context, x, y, x + width, y + height);
         if (horizontal) {
-            renderHorizontal(context, mouseX, mouseY);
+            renderHorizontal(context);
         } else {
-            renderVertical(context, mouseX, mouseY);
+            renderVertical(context);
         }
+        QuadBatcher.disableScissor(context);
     }
 
     /**
-     * Update hover animation states with faster speed.
+     * Update hover animation targets.
+     * Only the items entering and leaving the hover state are touched.
      */
-    private void updateHoverAnimations(int mouseX, int mouseY, float delta) {
-        if (horizontal) {
-            int itemX = x + itemPadding;
-
-            for (int i = 0; i < items.size(); i++) {
-                NavItem item = items.get(i);
-                int width = getItemWidth(item);
-                boolean isHovered = mouseX >= itemX && mouseX < itemX + width &&
-                        mouseY >= y && mouseY < y + height;
-
-                updateSingleHoverAnimation(i, isHovered, delta);
-
-                itemX += width + itemSpacing;
-            }
-        } else {
-            int itemY = y + itemPadding;
-
-            for (int i = 0; i < items.size(); i++) {
-                NavItem item = items.get(i);
-                int height = getItemHeight(item);
-                boolean isHovered = mouseX >= x && mouseX < x + width &&
-                        mouseY >= itemY && mouseY < itemY + height;
+    private void updateHoverAnimations(int mouseX, int mouseY) {
+        int hovered = isHovered ? findItemAt(mouseX, mouseY) : -1;
+        if (hovered == hoveredIndex) return;
 
-                updateSingleHoverAnimation(i, isHovered, delta);
+        if (hoveredIndex >= 0 && hoveredIndex < hoverAnimations.size()) {
+            updateSingleHoverAnimation(hoveredIndex, false);
+        }
+        if (hovered >= 0) {
+            updateSingleHoverAnimation(hovered, true);
+        }
+        hoveredIndex = hovered;
 
-                itemY += height + itemSpacing;
-            }
+        if (hoverListener != null) {
+            hoverListener.accept(hovered >= 0 ? items.get(hovered).id : null);
         }
     }
 
     /**
-     * Update a single item's hover animation with increased speed.
+     * Point a single item's hover animation at its new target.
      */
-    private void updateSingleHoverAnimation(int index, boolean isHovered, float delta) {
-        float currentAnim = hoverAnimations.getOrDefault(index, 0f);
-        float targetAnim = isHovered ? 1f : 0f;
-
-        // Smooth animation with faster speeds
-        if (currentAnim != targetAnim) {
-            float speed = HOVER_ANIMATION_SPEED * delta;
-            if (isHovered) {
-                currentAnim = Math.min(1f, currentAnim + speed);
-            } else {
-                currentAnim = Math.max(0f, currentAnim - speed);
-            }
+    private void updateSingleHoverAnimation(int index, boolean isHovered) {
+        hoverAnimations.get(index).animateTo(isHovered ? 1f : 0f);
+    }
 
-            if (Math.abs(currentAnim) < 0.01f) {
-                hoverAnimations.remove(index);
+    /**
+     * Index of the first item visible at the current scroll offset.
+     */
+    private int getFirstVisibleItem() {
+        int scroll = (int) scrollOffset;
+        int low = 0;
+        int high = items.size() - 1;
+        // Last item starting at or before the scroll offset
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (itemStarts[mid] <= scroll) {
+                low = mid;
             } else {
-                hoverAnimations.put(index, currentAnim);
+                high = mid - 1;
             }
         }
+        return low;
     }
 
     /**
      * Render items horizontally.
      */
-    private void renderHorizontal(DrawContext context, int mouseX, int mouseY) {
-        int itemX = x + itemPadding;
+    private void renderHorizontal(DrawContext context) {
+        if (items.isEmpty()) return;
+
+        int origin = getItemsOrigin() - (int) scrollOffset;
+        int viewEnd = x + width;
         int itemHeight = height - (itemPadding * 2);
 
         // Draw indicator for selected item with animation
-        context.fill((int)selectionAnimX, y + height - 3,
-                (int)(selectionAnimX + selectionAnimWidth), y + height, ACTIVE_INDICATOR);
+        float selectionX = origin + selectionAnimX.get();
+        QuadBatcher.fill(context, (int)selectionX, y + height - 3,
+                (int)(selectionX + selectionAnimWidth.get()), y + height, ACTIVE_INDICATOR);
+        QuadBatcher.flush(context);
 
-        for (int i = 0; i < items.size(); i++) {
-            NavItem item = items.get(i);
-            int itemWidth = getItemWidth(item);
+        for (int i = getFirstVisibleItem(); i < items.size(); i++) {
+            int itemX = origin + itemStarts[i];
+            if (itemX >= viewEnd) break;
 
             boolean isSelected = i == selectedIndex;
-            float hoverAnim = hoverAnimations.getOrDefault(i, 0f);
+            float hoverAnim = hoverAnimations.get(i).get();
 
             // Draw item with hover animation
-            renderNavItem(context, item, itemX, y + itemPadding, itemWidth, itemHeight, isSelected, hoverAnim);
-
-            itemX += itemWidth + itemSpacing;
+            renderNavItem(context, items.get(i), itemX, y + itemPadding, itemSizes[i], itemHeight, isSelected, hoverAnim);
         }
     }
 
     /**
      * Render items vertically.
      */
-    private void renderVertical(DrawContext context, int mouseX, int mouseY) {
-        int itemY = y + itemPadding;
+    private void renderVertical(DrawContext context) {
+        if (items.isEmpty()) return;
+
+        int origin = getItemsOrigin() - (int) scrollOffset;
+        int viewEnd = y + height;
         int itemWidth = width - (itemPadding * 2);
 
         // Draw indicator for selected item with animation
-        context.fill(x, (int)selectionAnimX, x + 3,
-                (int)(selectionAnimX + selectionAnimWidth), ACTIVE_INDICATOR);
+        float selectionY = origin + selectionAnimX.get();
+        QuadBatcher.fill(context, x, (int)selectionY, x + 3,
+                (int)(selectionY + selectionAnimWidth.get()), ACTIVE_INDICATOR);
+        QuadBatcher.flush(context);
 
-        for (int i = 0; i < items.size(); i++) {
-            NavItem item = items.get(i);
-            int itemHeight = getItemHeight(item);
+        for (int i = getFirstVisibleItem(); i < items.size(); i++) {
+            int itemY = origin + itemStarts[i];
+            if (itemY >= viewEnd) break;
 
             boolean isSelected = i == selectedIndex;
-            float hoverAnim = hoverAnimations.getOrDefault(i, 0f);
+            float hoverAnim = hoverAnimations.get(i).get();
 
             // Draw item with hover animation
-            renderNavItemVertical(context, item, x + itemPadding, itemY, itemWidth, itemHeight,
+            renderNavItemVertical(context, items.get(i), x + itemPadding, itemY, itemWidth, itemSizes[i],
                     isSelected, hoverAnim);
-
-            itemY += itemHeight + itemSpacing;
         }
     }
 
@@ -250,9 +385,7 @@ public class NavBar extends UIPanel {
     private void renderNavItem(DrawContext context, NavItem item, int x, int y, int width, int height,
                                boolean isSelected, float hoverAnim) {
         // Calculate text color with smooth transition based on hover state
-        int baseColor = isSelected ? ACTIVE_COLOR : INACTIVE_COLOR;
-        int hoverTargetColor = isSelected ? ACTIVE_COLOR : HOVER_COLOR;
-        int textColor = interpolateColor(baseColor, hoverTargetColor, hoverAnim);
+        int textColor = isSelected ? ACTIVE_COLOR : INACTIVE_HOVER_RAMP.get(hoverAnim);
 
         int iconSize = 16;
         int textY = y + (height - textRenderer.fontHeight) / 2;
@@ -278,7 +411,7 @@ public class NavBar extends UIPanel {
         }
 
         // Draw text with shadow
-        context.drawTextWithShadow(textRenderer, item.label, textX, textY, textColor);
+        context.drawTextWithShadow(textRenderer, TextMetricsCache.getOrderedText(item.label), textX, textY, textColor);
 
         context.getMatrices().pop();
     }
@@ -289,9 +422,7 @@ public class NavBar extends UIPanel {
     private void renderNavItemVertical(DrawContext context, NavItem item, int x, int y, int width, int height,
                                        boolean isSelected, float hoverAnim) {
         // Calculate text color with smooth transition based on hover state
-        int baseColor = isSelected ? ACTIVE_COLOR : INACTIVE_COLOR;
-        int hoverTargetColor = isSelected ? ACTIVE_COLOR : HOVER_COLOR;
-        int textColor = interpolateColor(baseColor, hoverTargetColor, hoverAnim);
+        int textColor = isSelected ? ACTIVE_COLOR : INACTIVE_HOVER_RAMP.get(hoverAnim);
 
         int iconSize = 16;
         int textY = y + (height - textRenderer.fontHeight) / 2;
@@ -311,7 +442,7 @@ public class NavBar extends UIPanel {
         // Center both icon and text
         int contentWidth = 0;
         if (item.icon != null) contentWidth += iconSize + 5;
-        contentWidth += textRenderer.getWidth(item.label);
+        contentWidth += TextMetricsCache.getWidth(item.label);
 
         int startX = x + (width - contentWidth) / 2;
         int currentX = startX;
@@ -324,7 +455,7 @@ public class NavBar extends UIPanel {
         }
 
         // Draw text with shadow
-        context.drawTextWithShadow(textRenderer, item.label, currentX, textY, textColor);
+        context.drawTextWithShadow(textRenderer, TextMetricsCache.getOrderedText(item.label), currentX, textY, textColor);
 
         context.getMatrices().pop();
     }
@@ -333,7 +464,7 @@ public class NavBar extends UIPanel {
      * Calculate the width of an item.
      */
     private int getItemWidth(NavItem item) {
-        int width = textRenderer.getWidth(item.label);
+        int width = TextMetricsCache.getWidth(item.label);
         if (item.icon != null) {
             width += 16 + 5; // Icon + spacing
         }
@@ -350,57 +481,35 @@ public class NavBar extends UIPanel {
     @Override
     public boolean mouseClicked(double mouseX, double mouseY, int button) {
         if (button == 0) { // Left click
-            if (horizontal) {
-                int itemX = x + itemPadding;
-                int itemY = y + itemPadding;
-                int itemHeight = height - (itemPadding * 2);
-
-                for (int i = 0; i < items.size(); i++) {
-                    NavItem item = items.get(i);
-                    int itemWidth = getItemWidth(item);
-
-                    if (mouseX >= itemX && mouseX < itemX + itemWidth &&
-                            mouseY >= itemY && mouseY < itemY + itemHeight) {
-                        if (i != selectedIndex) {
-                            selectedIndex = i;
-                            updateSelectionAnimation();
-                            if (item.onSelect != null) {
-                                item.onSelect.accept(item.id);
-                            }
-                        }
-                        return true;
-                    }
-
-                    itemX += itemWidth + itemSpacing;
-                }
-            } else { // Vertical
-                int itemX = x + itemPadding;
-                int itemY = y + itemPadding;
-                int itemWidth = width - (itemPadding * 2);
-
-                for (int i = 0; i < items.size(); i++) {
-                    NavItem item = items.get(i);
-                    int itemHeight = getItemHeight(item);
-
-                    if (mouseX >= itemX && mouseX < itemX + itemWidth &&
-                            mouseY >= itemY && mouseY < itemY + itemHeight) {
-                        if (i != selectedIndex) {
-                            selectedIndex = i;
-                            updateSelectionAnimation();
-                            if (item.onSelect != null) {
-                                item.onSelect.accept(item.id);
-                            }
-                        }
-                        return true;
+            ensureGeometry();
+            int index = findItemAt(mouseX, mouseY);
+            if (index >= 0) {
+                if (index != selectedIndex) {
+                    NavItem item = items.get(index);
+                    selectedIndex = index;
+                    updateSelectionAnimation();
+                    if (item.onSelect != null) {
+                        item.onSelect.accept(item.id);
                     }
-
-                    itemY += itemHeight + itemSpacing;
                 }
+                return true;
             }
         }
         return false;
     }
 
+    @Override
+    public boolean handleScrolling(double horizontalAmount, double verticalAmount) {
+        ensureGeometry();
+        if (getMaxScroll() <= 0) return false;
+
+        // Either wheel axis scrolls along the bar
+        double amount = verticalAmount != 0 ? verticalAmount : horizontalAmount;
+        scrollOffset -= (float)(amount * SCROLL_SPEED);
+        clampScroll();
+        return true;
+    }
+
     /**
      * Set the orientation of the navigation bar.
      *
@@ -408,6 +517,9 @@ public class NavBar extends UIPanel {
      */
     public void setOrientation(boolean horizontal) {
         this.horizontal = horizontal;
+        geometryDirty = true;
+        scrollOffset = 0;
+        updateSelectionAnimation();
     }
 
     /**
@@ -415,6 +527,8 @@ public class NavBar extends UIPanel {
      */
     public void setItemPadding(int padding) {
         this.itemPadding = padding;
+        clampScroll();
+        updateSelectionAnimation();
     }
 
     /**
@@ -422,6 +536,8 @@ public class NavBar extends UIPanel {
      */
     public void setItemSpacing(int spacing) {
         this.itemSpacing = spacing;
+        geometryDirty = true;
+        updateSelectionAnimation();
     }
 
     /**
@@ -2,26 +2,38 @@ package sypztep.tyrannus.client.screen.panel;
 
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.text.Text;
+import sypztep.tyrannus.client.animation.AnimatedFloat;
+import sypztep.tyrannus.client.animation.Easing;
+import sypztep.tyrannus.client.render.QuadBatcher;
+import sypztep.tyrannus.common.util.ColorUtil;
 
 /**
  * A progress bar component for displaying experience, health, mana, etc.
  */
 public class ProgressBar extends UIPanel {
-    private float progress = 0.0f; // 0.0 to 1.0
-    private float targetProgress = 0.0f; // For smooth animation
+    private final AnimatedFloat progress = new AnimatedFloat(0.0f, 400, Easing.EASE_OUT_CUBIC); // 0.0 to 1.0
     private String valueText = "";
     private boolean showValue = true;
     private boolean showPercent = false;
     private boolean smoothAnimation = true;
 
+    // Defaults, restored by reset()
+    private static final int DEFAULT_BACKGROUND_COLOR = 0xFF333333;
+    private static final int DEFAULT_BORDER_COLOR = 0xFF555555;
+    private static final int DEFAULT_FILL_COLOR = 0xFF7FBD3E; // Green XP bar color
+    private static final int DEFAULT_TEXT_COLOR = 0xFFFFFFFF;
+    private static final int DEFAULT_BAR_HEIGHT = 12;
+
     // Colors
-    private int backgroundColor = 0xFF333333;
-    private int borderColor = 0xFF555555;
-    private int fillColor = 0xFF7FBD3E; // Default: green XP bar color
-    private int textColor = 0xFFFFFFFF;
+    private int backgroundColor = DEFAULT_BACKGROUND_COLOR;
+    private int borderColor = DEFAULT_BORDER_COLOR;
+    private int fillColor = DEFAULT_FILL_COLOR;
+    private int fillHighlightColor = ColorUtil.lighten(fillColor, 0.2f);
+    private int fillShadowColor = ColorUtil.darken(fillColor, 0.2f);
+    private int textColor = DEFAULT_TEXT_COLOR;
 
     // Size
-    private int barHeight = 12;
+    private int barHeight = DEFAULT_BAR_HEIGHT;
     private int barPadding = 0; // Added to control padding around the bar
 
     public ProgressBar(int x, int y, int width, int height, Text title) {
@@ -39,14 +51,7 @@ public class ProgressBar extends UIPanel {
 
     @Override
     protected void renderContents(DrawContext context, int mouseX, int mouseY, float delta) {
-        if (smoothAnimation && progress != targetProgress) {
-            float diff = targetProgress - progress;
-            progress += diff * 0.1f; // Adjust speed by changing this multiplier
-
-            if (Math.abs(diff) < 0.001f) {
-                progress = targetProgress;
-            }
-        }
+        float progress = this.progress.get();
 
         // Calculate bar dimensions
         int barX = getContentX() + barPadding;
@@ -54,11 +59,11 @@ public class ProgressBar extends UIPanel {
         int barWidth = getContentWidth() - (barPadding * 2);
 
         // Background and border
-        context.fill(barX, barY, barX + barWidth, barY + barHeight, backgroundColor);
-        context.fill(barX, barY, barX + barWidth, barY + 1, borderColor); // Top
-        context.fill(barX, barY + barHeight - 1, barX + barWidth, barY + barHeight, borderColor); // Bottom
-        context.fill(barX, barY, barX + 1, barY + barHeight, borderColor); // Left
-        context.fill(barX + barWidth - 1, barY, barX + barWidth, barY + barHeight, borderColor); // Right
+        QuadBatcher.fill(context, barX, barY, barX + barWidth, barY + barHeight, backgroundColor);
+        QuadBatcher.fill(context, barX, barY, barX + barWidth, barY + 1, borderColor); // Top
+        QuadBatcher.fill(context, barX, barY + barHeight - 1, barX + barWidth, barY + barHeight, borderColor); // Bottom
+        QuadBatcher.fill(context, barX, barY, barX + 1, barY + barHeight, borderColor); // Left
+        QuadBatcher.fill(context, barX + barWidth - 1, barY, barX + barWidth, barY + barHeight, borderColor); // Right
 
         // Fill bar based on progress
         int fillWidth = (int)(barWidth * progress);
@@ -71,16 +76,13 @@ public class ProgressBar extends UIPanel {
 
             fillWidth = Math.min(fillWidth, maxFillWidth);
 
-            context.fill(fillX, fillY, fillX + fillWidth, fillY + fillHeight, fillColor);
+            QuadBatcher.fill(context, fillX, fillY, fillX + fillWidth, fillY + fillHeight, fillColor);
 
             // Add gradient shading for 3D effect
-            int highlightColor = lightenColor(fillColor, 0.2f);
-            int shadowColor = darkenColor(fillColor, 0.2f);
-
             // Highlight at top
-            context.fill(fillX, fillY, fillX + fillWidth, fillY + 2, highlightColor);
+            QuadBatcher.fill(context, fillX, fillY, fillX + fillWidth, fillY + 2, fillHighlightColor);
             // Shadow at bottom
-            context.fill(fillX, fillY + fillHeight - 2, fillX + fillWidth, fillY + fillHeight, shadowColor);
+            QuadBatcher.fill(context, fillX, fillY + fillHeight - 2, fillX + fillWidth, fillY + fillHeight, fillShadowColor);
         }
 
         // Draw text value if enabled
@@ -93,6 +95,7 @@ public class ProgressBar extends UIPanel {
             }
 
             int textWidth = textRenderer.getWidth(display);
+            QuadBatcher.flush(context);
             context.drawTextWithShadow(
                     textRenderer,
                     display,
@@ -103,13 +106,39 @@ public class ProgressBar extends UIPanel {
         }
     }
 
+    @Override
+    public boolean isAnimating() {
+        return super.isAnimating() || !progress.isSettled();
+    }
+
+    /**
+     * Go back to an empty bar with the default look.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        progress.set(0.0f);
+        valueText = "";
+        showValue = true;
+        showPercent = false;
+        smoothAnimation = true;
+        backgroundColor = DEFAULT_BACKGROUND_COLOR;
+        borderColor = DEFAULT_BORDER_COLOR;
+        setFillColor(DEFAULT_FILL_COLOR);
+        textColor = DEFAULT_TEXT_COLOR;
+        barHeight = DEFAULT_BAR_HEIGHT;
+        barPadding = 0;
+    }
+
     /**
      * Set the progress value (0.0 to 1.0).
      */
     public void setProgress(float progress) {
-        this.targetProgress = Math.max(0.0f, Math.min(1.0f, progress));
-        if (!smoothAnimation) {
-            this.progress = this.targetProgress;
+        float target = Math.max(0.0f, Math.min(1.0f, progress));
+        if (smoothAnimation) {
+            this.progress.animateTo(target);
+        } else {
+            this.progress.set(target);
         }
     }
 
@@ -146,6 +175,8 @@ public class ProgressBar extends UIPanel {
      */
     public void setFillColor(int color) {
         this.fillColor = color;
+        this.fillHighlightColor = ColorUtil.lighten(color, 0.2f);
+        this.fillShadowColor = ColorUtil.darken(color, 0.2f);
     }
 
     /**
@@ -182,36 +213,4 @@ public class ProgressBar extends UIPanel {
     public void setBarPadding(int padding) {
         this.barPadding = padding;
     }
-
-    /**
-     * Lighten a color by a factor.
-     */
-    private int lightenColor(int color, float factor) {
-        int a = (color >> 24) & 0xFF;
-        int r = (color >> 16) & 0xFF;
-        int g = (color >> 8) & 0xFF;
-        int b = color & 0xFF;
-
-        r = Math.min(255, (int)(r + (255 - r) * factor));
-        g = Math.min(255, (int)(g + (255 - g) * factor));
-        b = Math.min(255, (int)(b + (255 - b) * factor));
-
-        return (a << 24) | (r << 16) | (g << 8) | b;
-    }
-
-    /**
-     * Darken a color by a factor.
-     */
-    private int darkenColor(int color, float factor) {
-        int a = (color >> 24) & 0xFF;
-        int r = (color >> 16) & 0xFF;
-        int g = (color >> 8) & 0xFF;
-        int b = color & 0xFF;
-
-        r = Math.max(0, (int)(r * (1 - factor)));
-        g = Math.max(0, (int)(g * (1 - factor)));
-        b = Math.max(0, (int)(b * (1 - factor)));
-
-        return (a << 24) | (r << 16) | (g << 8) | b;
-    }
 }
\ No newline at end of file
@@ -3,6 +3,15 @@ package sypztep.tyrannus.client.screen.panel;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.text.Text;
 import net.minecraft.util.math.MathHelper;
+import sypztep.tyrannus.client.animation.AnimatedFloat;
+import sypztep.tyrannus.client.layout.LayoutNode;
+import sypztep.tyrannus.client.render.ContentTileCache;
+import sypztep.tyrannus.client.render.QuadBatcher;
+import sypztep.tyrannus.client.render.RenderKey;
+import sypztep.tyrannus.client.text.TextMetricsCache;
+import sypztep.tyrannus.client.text.WordWrapper;
+import sypztep.tyrannus.common.util.ColorRamp;
+import sypztep.tyrannus.common.util.ColorUtil;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,6 +20,10 @@ import java.util.List;
  * A panel with scrollable content and smooth hover effects.
  */
 public abstract class ScrollablePanel extends UIPanel {
+    private static final ColorRamp HANDLE_RAMP = ColorUtil.ramp(0xFFAAAAAA, 0xFFFFFFFF);
+    // Mouse position given to cached content, which must not react to the mouse
+    private static final int NO_MOUSE = Integer.MIN_VALUE / 2;
+
     protected double scrollAmount = 0;
     protected int contentTotalHeight = 0;
     protected int maxScroll = 0;
@@ -19,10 +32,18 @@ public abstract class ScrollablePanel extends UIPanel {
     protected int scrollbarWidth = 6;
     protected int scrollbarPadding = 2;
 
+    // Optional layout of the scrollable content, measured against the content width
+    protected LayoutNode contentLayout;
+
     // Animation for scrollbar
+    protected final AnimatedFloat scrollbarHoverTransition = new AnimatedFloat(0.0f, 110);
     protected float scrollbarHoverAnimation = 0.0f;
     protected boolean scrollbarHovered = false;
 
+    // Offscreen tiles of the content, null unless content caching is enabled
+    private ContentTileCache contentCache;
+    private int contentTextGeneration = -1;
+
     public ScrollablePanel(int x, int y, int width, int height, Text title) {
         super(x, y, width, height, title);
     }
@@ -35,18 +56,10 @@ public abstract class ScrollablePanel extends UIPanel {
         // Update max scroll based on content height
         updateMaxScroll();
 
-        // Setup scissor to clip content within panel boundaries
-        int scissorX = getContentX();
-        int scissorY = getContentY();
-        int scissorWidth = getContentWidth();
-        int scissorHeight = getContentHeight();
-
-        context.enableScissor(scissorX, scissorY, scissorX + scissorWidth, scissorY + scissorHeight);
-
-        // Render scrollable content
-        renderScrollableContent(context, mouseX, mouseY, delta);
-
-        context.disableScissor();
+        // While loading, the base panel drew the placeholder in place of the contents
+        if (!loading) {
+            renderContentArea(context, mouseX, mouseY, delta);
+        }
 
         // Render scrollbar if needed
         if (enableScrollbar && maxScroll > 0) {
@@ -59,19 +72,123 @@ public abstract class ScrollablePanel extends UIPanel {
                     mouseY >= scrollbarY && mouseY <= scrollbarY + scrollbarHeight;
 
             // Update animation
-            if (scrollbarHovered || isDragging) {
-                scrollbarHoverAnimation = Math.min(1.0f, scrollbarHoverAnimation + 0.15f);
-            } else {
-                scrollbarHoverAnimation = Math.max(0.0f, scrollbarHoverAnimation - 0.1f);
-            }
+            scrollbarHoverTransition.animateTo(scrollbarHovered || isDragging ? 1.0f : 0.0f);
+            scrollbarHoverAnimation = scrollbarHoverTransition.get();
 
             renderScrollbar(context, mouseX, mouseY);
         }
     }
 
+    /**
+     * Draw the scrollable content into the content area, from the tile cache if enabled.
+     */
+    private void renderContentArea(DrawContext context, int mouseX, int mouseY, float delta) {
+        // Setup scissor to clip content within panel boundaries
+        int scissorX = getContentX();
+        int scissorY = getContentY();
+        int scissorWidth = getContentWidth();
+        int scissorHeight = getContentHeight();
+
+        if (contentCache != null) {
+            // Text metrics changed, e.g. after a resource reload
+            if (contentTextGeneration != TextMetricsCache.getGeneration()) {
+                contentTextGeneration = TextMetricsCache.getGeneration();
+                contentCache.invalidate();
+            }
+            // Clipped by the tiles, so no scissor is needed
+            contentCache.draw(context, scissorX, scissorY, scissorWidth, scissorHeight, scrollAmount, contentTotalHeight);
+        } else {
+            QuadBatcher.enableScissor(context, scissorX, scissorY, scissorX + scissorWidth, scissorY + scissorHeight);
+
+            // Render scrollable content
+            renderScrollableContent(context, mouseX, mouseY, delta);
+
+            QuadBatcher.disableScissor(context);
+        }
+    }
+
+    @Override
+    public boolean isAnimating() {
+        return super.isAnimating() || !scrollbarHoverTransition.isSettled();
+    }
+
+    @Override
+    protected void writeRenderKey(RenderKey key, int mouseX, int mouseY) {
+        super.writeRenderKey(key, mouseX, mouseY);
+        key.add(scrollAmount).add(contentTotalHeight).add(isDragging);
+    }
+
+    /**
+     * Cache the content in offscreen tiles and scroll by moving them instead of redrawing it.
+     * <p>
+     * Only for content that does not react to the mouse; it is drawn with the mouse out of reach.
+     * Subclasses must call {@link #invalidateContent()} or {@link #invalidateContent(int, int)}
+     * when the content changes, except for changes of the content layout's height or of the width.
+     * A cached panel is not retained, the cache already keeps scrolling cheap.
+     */
+    public void setContentCached(boolean cached) {
+        if (cached == (contentCache != null)) return;
+        if (cached) {
+            setRetained(false);
+            contentCache = new ContentTileCache(this::renderContentTile);
+            contentTextGeneration = TextMetricsCache.getGeneration();
+        } else {
+            contentCache.close();
+            contentCache = null;
+        }
+    }
+
+    @Override
+    public void setRetained(boolean retained) {
+        if (retained) {
+            setContentCached(false);
+        }
+        super.setRetained(retained);
+    }
+
+    /**
+     * Redraw all cached content.
+     */
+    public void invalidateContent() {
+        if (contentCache != null) {
+            contentCache.invalidate();
+        }
+    }
+
+    /**
+     * Redraw the cached content between two offsets from the top of the content.
+     */
+    public void invalidateContent(int top, int bottom) {
+        if (contentCache != null) {
+            contentCache.invalidate(top, bottom);
+        }
+    }
+
+    @Override
+    public void release() {
+        super.release();
+        if (contentCache != null) {
+            contentCache.close();
+        }
+    }
+
+    /**
+     * Render one tile of cached content. The context origin is the top left of the tile.
+     */
+    private void renderContentTile(DrawContext context, int tileTop) {
+        // Draw as if scrolled to the tile, shifted so the content area starts at the origin
+        double scroll = scrollAmount;
+        scrollAmount = tileTop;
+        context.getMatrices().push();
+        context.getMatrices().translate(-getContentX(), -getContentY(), 0);
+        renderScrollableContent(context, NO_MOUSE, NO_MOUSE, 0.0f);
+        context.getMatrices().pop();
+        scrollAmount = scroll;
+    }
+
     /**
      * Render the content that should scroll.
-     * This is called with scissor already enabled.
+     * This is called with scissor already enabled, or into a tile sized like the viewport when the content is cached.
      */
     protected abstract void renderScrollableContent(DrawContext context, int mouseX, int mouseY, float delta);
 
@@ -79,6 +196,18 @@ public abstract class ScrollablePanel extends UIPanel {
      * Update the maximum scroll amount based on content height.
      */
     protected void updateMaxScroll() {
+        if (contentLayout != null) {
+            // Cached by the layout, so this only does work when the width or the content changed
+            int width = Math.max(0, getContentWidth());
+            contentLayout.measure(width, Integer.MAX_VALUE);
+            contentLayout.layout(0, 0, width, contentLayout.getMeasuredHeight());
+            if (contentLayout.getMeasuredHeight() != contentTotalHeight) {
+                // Rows may have moved anywhere
+                invalidateContent();
+            }
+            contentTotalHeight = contentLayout.getMeasuredHeight();
+        }
+
         int visibleHeight = getContentHeight();
         maxScroll = Math.max(0, contentTotalHeight - visibleHeight);
         scrollAmount = MathHelper.clamp(scrollAmount, 0, maxScroll);
@@ -91,6 +220,17 @@ public abstract class ScrollablePanel extends UIPanel {
         this.contentTotalHeight = height;
         updateMaxScroll();
     }
+
+    /**
+     * Derive the content height from a layout instead of a fixed value.
+     * Node positions are relative to the top of the scrollable content.
+     */
+    protected void setContentLayout(LayoutNode layout) {
+        this.contentLayout = layout;
+        invalidateContent();
+        updateMaxScroll();
+    }
+
     protected boolean isScrollbarClicked(double mouseX, double mouseY) {
         if (!enableScrollbar || maxScroll <= 0) {
             return false;
@@ -115,7 +255,7 @@ public abstract class ScrollablePanel extends UIPanel {
 
             // Scrollbar background with subtle animation
             int bgAlpha = 25 + (int)(55 * scrollbarHoverAnimation); // More visible when hovered
-            context.fill(scrollbarX, scrollbarY, scrollbarX + scrollbarWidth, scrollbarY + scrollbarHeight,
+            QuadBatcher.fill(context, scrollbarX, scrollbarY, scrollbarX + scrollbarWidth, scrollbarY + scrollbarHeight,
                     (bgAlpha << 24));
 
             // Scrollbar handle
@@ -131,7 +271,7 @@ public abstract class ScrollablePanel extends UIPanel {
                 // Animate handle color
                 int baseAlpha = 120 + (int)(135 * scrollbarHoverAnimation);
                 int handleBgColor = (baseAlpha << 24) | 0x666666;
-                int handleFgColor = interpolateColor(0xFFAAAAAA, 0xFFFFFFFF, scrollbarHoverAnimation);
+                int handleFgColor = HANDLE_RAMP.get(scrollbarHoverAnimation);
 
                 // Draw handle with subtle glow effect
                 if (scrollbarHoverAnimation > 0.1f) {
@@ -140,16 +280,16 @@ public abstract class ScrollablePanel extends UIPanel {
                     int glowColor = (glowAlpha << 24) | 0xFFFFFF; // White glow
 
                     // Draw glow
-                    context.fill(scrollbarX - glowSize, handleY - glowSize,
+                    QuadBatcher.fill(context, scrollbarX - glowSize, handleY - glowSize,
                             scrollbarX + scrollbarWidth + glowSize, handleY + handleHeight + glowSize,
                             glowColor);
                 }
 
                 // Draw handle background
-                context.fill(scrollbarX, handleY, scrollbarX + scrollbarWidth, handleY + handleHeight, handleBgColor);
+                QuadBatcher.fill(context, scrollbarX, handleY, scrollbarX + scrollbarWidth, handleY + handleHeight, handleBgColor);
 
                 // Draw handle foreground with rounded corners effect
-                context.fill(scrollbarX + 1, handleY + 1, scrollbarX + scrollbarWidth - 1, handleY + handleHeight - 1, handleFgColor);
+                QuadBatcher.fill(context, scrollbarX + 1, handleY + 1, scrollbarX + scrollbarWidth - 1, handleY + handleHeight - 1, handleFgColor);
 
                 // Draw handle grip lines when hovered
                 if (scrollbarHoverAnimation > 0.5f) {
@@ -158,7 +298,7 @@ public abstract class ScrollablePanel extends UIPanel {
                     int lineColor = (lineAlpha << 24) | 0x999999;
 
                     for (int i = 0; i < 3; i++) {
-                        context.fill(scrollbarX + 2, lineY + (i * 3), scrollbarX + scrollbarWidth - 2, lineY + (i * 3) + 1, lineColor);
+                        QuadBatcher.fill(context, scrollbarX + 2, lineY + (i * 3), scrollbarX + scrollbarWidth - 2, lineY + (i * 3) + 1, lineColor);
                     }
                 }
             }
@@ -198,6 +338,7 @@ public abstract class ScrollablePanel extends UIPanel {
     /**
      * Handle mouse drag for scrollbar dragging.
      */
+    @Override
     public boolean mouseDragged(double mouseX, double mouseY, int button, double dragX, double dragY) {
         if (isDragging) {
             int scrollbarY = getContentY();
@@ -211,35 +352,25 @@ public abstract class ScrollablePanel extends UIPanel {
         return false;
     }
 
-    public void mouseReleased(double mouseX, double mouseY, int button) {
+    @Override
+    public boolean mouseReleased(double mouseX, double mouseY, int button) {
+        boolean wasDragging = isDragging;
         isDragging = false;
+        return wasDragging;
     }
 
+    /**
+     * Wrap text into lines no wider than maxWidth. Words longer than a line are broken.
+     * For hot paths, use {@link WordWrapper} directly to get line ranges without allocating strings.
+     */
     protected List<String> wrapText(String text, int maxWidth) {
-        List<String> lines = new ArrayList<>();
-        String[] words = text.split(" ");
-        StringBuilder currentLine = new StringBuilder();
-
-        for (String word : words) {
-            String testLine = currentLine.toString().isEmpty()
-                    ? word
-                    : currentLine + " " + word;
-
-            if (textRenderer.getWidth(testLine) <= maxWidth) {
-                if (!currentLine.isEmpty()) {
-                    currentLine.append(" ");
-                }
-                currentLine.append(word);
-            } else {
-                lines.add(currentLine.toString());
-                currentLine = new StringBuilder(word);
-            }
-        }
+        WordWrapper wrapper = WordWrapper.shared();
+        int lineCount = wrapper.wrap(text, maxWidth);
 
-        if (!currentLine.isEmpty()) {
-            lines.add(currentLine.toString());
+        List<String> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(text.substring(wrapper.getLineStart(i), wrapper.getLineEnd(i)));
         }
-
         return lines;
     }
 
@@ -0,0 +1,191 @@
+package sypztep.tyrannus.client.screen.panel;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.gui.Element;
+
+/**
+ * A mouse or key event routed through a panel and its child widgets.
+ * <p>
+ * A panel sees the event twice: in the capture phase before its children, where it may
+ * consume the event to keep it from them, and in the bubble phase after none of them
+ * handled it, where its typed handler such as {@link UIPanel#mouseClicked} runs.
+ * One instance is reused by the screen's router for every event.
+ */
+@Environment(EnvType.CLIENT)
+public final class UIEvent {
+    public enum Type {
+        PRESS,
+        RELEASE,
+        MOVE,
+        DRAG,
+        SCROLL,
+        KEY_PRESS,
+        KEY_RELEASE
+    }
+
+    public enum Phase {
+        CAPTURE,
+        BUBBLE
+    }
+
+    private Type type;
+    private Phase phase;
+    private boolean consumed;
+
+    // Pointer events
+    private double mouseX;
+    private double mouseY;
+    private int button;
+    private double deltaX; // Drag distance, or horizontal scroll amount
+    private double deltaY; // Drag distance, or vertical scroll amount
+
+    // Key events
+    private int keyCode;
+    private int scanCode;
+    private int modifiers;
+
+    // Child that accepted the press, the only child drags and releases are delivered to
+    private boolean pointerCaptured;
+    private Element capturedChild;
+
+    // Child that consumed the event, null if it was the panel itself or nobody
+    private Element target;
+
+    /**
+     * Start a pointer event.
+     */
+    public UIEvent pointer(Type type, double mouseX, double mouseY, int button, double deltaX, double deltaY) {
+        begin(type);
+        this.mouseX = mouseX;
+        this.mouseY = mouseY;
+        this.button = button;
+        this.deltaX = deltaX;
+        this.deltaY = deltaY;
+        return this;
+    }
+
+    /**
+     * Start a key event.
+     */
+    public UIEvent key(Type type, int keyCode, int scanCode, int modifiers) {
+        begin(type);
+        this.keyCode = keyCode;
+        this.scanCode = scanCode;
+        this.modifiers = modifiers;
+        return this;
+    }
+
+    /**
+     * Deliver the event only to the given child, or to no child if null, because the pointer is captured.
+     */
+    public UIEvent capturedBy(Element child) {
+        this.pointerCaptured = true;
+        this.capturedChild = child;
+        return this;
+    }
+
+    private void begin(Type type) {
+        this.type = type;
+        this.phase = Phase.CAPTURE;
+        this.consumed = false;
+        this.pointerCaptured = false;
+        this.capturedChild = null;
+        this.target = null;
+    }
+
+    /**
+     * Stop routing the event, it was handled.
+     */
+    public void consume() {
+        consumed = true;
+    }
+
+    void setPhase(Phase phase) {
+        this.phase = phase;
+    }
+
+    /**
+     * Hand the event to a child widget's typed handler.
+     *
+     * @return whether the child consumed it
+     */
+    boolean deliverTo(Element child) {
+        boolean handled = switch (type) {
+            case PRESS -> child.mouseClicked(mouseX, mouseY, button);
+            case RELEASE -> child.mouseReleased(mouseX, mouseY, button);
+            case MOVE -> {
+                child.mouseMoved(mouseX, mouseY);
+                yield false;
+            }
+            case DRAG -> child.mouseDragged(mouseX, mouseY, button, deltaX, deltaY);
+            case SCROLL -> child.mouseScrolled(mouseX, mouseY, deltaX, deltaY);
+            case KEY_PRESS -> child.keyPressed(keyCode, scanCode, modifiers);
+            case KEY_RELEASE -> child.keyReleased(keyCode, scanCode, modifiers);
+        };
+        if (handled) {
+            consumed = true;
+            target = child;
+        }
+        return handled;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public boolean isConsumed() {
+        return consumed;
+    }
+
+    public boolean isPointerCaptured() {
+        return pointerCaptured;
+    }
+
+    public Element getCapturedChild() {
+        return capturedChild;
+    }
+
+    /**
+     * Get the child widget that consumed the event, or null if a panel handled it or nobody did.
+     */
+    public Element getTarget() {
+        return target;
+    }
+
+    public double getMouseX() {
+        return mouseX;
+    }
+
+    public double getMouseY() {
+        return mouseY;
+    }
+
+    public int getButton() {
+        return button;
+    }
+
+    public double getDeltaX() {
+        return deltaX;
+    }
+
+    public double getDeltaY() {
+        return deltaY;
+    }
+
+    public int getKeyCode() {
+        return keyCode;
+    }
+
+    public int getScanCode() {
+        return scanCode;
+    }
+
+    public int getModifiers() {
+        return modifiers;
+    }
+}
@@ -7,6 +7,16 @@ import net.minecraft.client.gui.Drawable;
 import net.minecraft.client.gui.Element;
 import net.minecraft.client.gui.widget.ClickableWidget;
 import net.minecraft.text.Text;
+import net.minecraft.util.Util;
+import net.minecraft.util.math.MathHelper;
+import sypztep.tyrannus.client.animation.AnimatedFloat;
+import sypztep.tyrannus.client.render.DisplayList;
+import sypztep.tyrannus.client.render.GradientStrip;
+import sypztep.tyrannus.client.render.QuadBatcher;
+import sypztep.tyrannus.client.render.RenderKey;
+import sypztep.tyrannus.client.text.TextMetricsCache;
+import sypztep.tyrannus.common.util.ColorRamp;
+import sypztep.tyrannus.common.util.ColorUtil;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +33,20 @@ public class UIPanel {
     protected static final int HEADER_COLOR = 0xFFFFD700;
     protected static final int HEADER_BG = 0xFF212121;
 
+    // Precomputed hover transitions
+    protected static final ColorRamp BACKGROUND_RAMP = ColorUtil.ramp(PANEL_BACKGROUND, 0xFF222222);
+    protected static final ColorRamp BORDER_RAMP = ColorUtil.ramp(PANEL_BORDER, PANEL_BORDER_HIGHLIGHT);
+    protected static final ColorRamp CORNER_RAMP = ColorUtil.ramp(0xFF4A4A4A, PANEL_BORDER_HIGHLIGHT);
+    protected static final ColorRamp HEADER_BG_RAMP = ColorUtil.ramp(HEADER_BG, 0xFF2A2A2A);
+    protected static final ColorRamp HEADER_TEXT_RAMP = ColorUtil.ramp(HEADER_COLOR, 0xFFFFFFFF);
+
+    // Placeholder lines shown while the panel's data loads, as percentages of the content width
+    protected static final ColorRamp SKELETON_RAMP = ColorUtil.ramp(0xFF262626, 0xFF333333);
+    private static final int[] SKELETON_WIDTHS = {92, 78, 85, 60};
+    private static final int SKELETON_LINE_HEIGHT = 8;
+    private static final int SKELETON_LINE_GAP = 8;
+    private static final long SKELETON_PULSE_MS = 1200;
+
     // Panel dimensions and position
     protected int x;
     protected int y;
@@ -42,9 +66,29 @@ public class UIPanel {
     protected boolean drawBorder = true;
     protected boolean isHovered = false;
 
+    // Hover state resolved by the owning screen's hit index, used instead of testing the mouse directly
+    private boolean hoverResolved = false;
+    private boolean resolvedHover = false;
+
+    // Notified when the panel moves or resizes
+    private Runnable boundsListener;
+
+    // Retained mode: the panel is recorded once and replayed while its render key is unchanged
+    private boolean retained = false;
+    private DisplayList displayList;
+    private final RenderKey retainedKey = new RenderKey();
+    private int recordCount = 0;
+
+    // Draws placeholder lines instead of the contents while data is loading
+    protected boolean loading = false;
+
     // Animation state for smooth transitions
-    protected float hoverAnimation = 0.0f; // 0.0 = not hovered, 1.0 = fully hovered
-    protected static final float HOVER_ANIMATION_SPEED = 0.1f;
+    protected static final long HOVER_ANIMATION_MS = 160;
+    protected final AnimatedFloat hoverTransition = new AnimatedFloat(0.0f, HOVER_ANIMATION_MS);
+    protected float hoverAnimation = 0.0f; // 0.0 = not hovered, 1.0 = fully hovered, sampled once per frame
+
+    // Header divider, rebuilt only when its width or hover state changes
+    protected final GradientStrip divider = new GradientStrip();
 
     // Client and text renderer references
     protected final MinecraftClient client;
@@ -79,19 +123,158 @@ public class UIPanel {
         contentHeight = height - headerHeight - padding - (drawHeader ? padding : 0);
     }
 
+    /**
+     * Render the panel for a frame of its screen, replaying the recorded frame in retained mode.
+     * Retained frames are re-recorded when the render key changes or when the last recording
+     * happened while one of the panel's own animations was running.
+     */
+    public void renderFrame(DrawContext context, int mouseX, int mouseY, float delta) {
+        // The loading placeholder pulses, so it is drawn every frame
+        if (!retained || loading) {
+            render(context, mouseX, mouseY, delta);
+            return;
+        }
+
+        retainedKey.begin();
+        writeRenderKey(retainedKey, mouseX, mouseY);
+        if (retainedKey.changed()) {
+            if (displayList == null) displayList = new DisplayList();
+            render(displayList.begin(), mouseX, mouseY, delta);
+            displayList.end();
+
+            // The panel draws something a display list cannot hold, so it stays immediate
+            if (!displayList.isRecordable()) {
+                setRetained(false);
+                render(context, mouseX, mouseY, delta);
+                return;
+            }
+
+            recordCount++;
+
+            // A frame recorded mid-animation is only good for this frame
+            if (isAnimating()) {
+                retainedKey.reset();
+            }
+        }
+        displayList.replay(context);
+    }
+
+    /**
+     * Whether an animated value of this panel or of the widgets it draws is still moving.
+     * Subclasses with their own animations add them, so animations elsewhere on the screen
+     * do not make a retained panel re-record.
+     */
+    public boolean isAnimating() {
+        return !hoverTransition.isSettled();
+    }
+
+    /**
+     * Number of times retained mode recorded the panel, for tests and diagnostics.
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Write everything the panel's appearance depends on, besides state that calls {@link #invalidateRetained()}.
+     */
+    protected void writeRenderKey(RenderKey key, int mouseX, int mouseY) {
+        boolean hovered = resolveHovered(mouseX, mouseY);
+        key.add(x).add(y).add(width).add(height).add(hovered);
+
+        // Child widgets react to the mouse while it is over the panel
+        if (hovered) {
+            key.add(mouseX).add(mouseY);
+        }
+    }
+
+    /**
+     * Enable or disable retained mode, for panels whose content rarely changes.
+     * <p>
+     * A retained panel may only draw through the {@link DisplayList} subset of the context:
+     * fills, gradients, text, plain textures, gui sprites and scissors. If it draws anything
+     * else, such as items or tooltips, retained mode turns itself off on the first recording.
+     * Draws made directly through {@code RenderSystem} are not seen by the recorder and
+     * must not be used by retained panels.
+     */
+    public void setRetained(boolean retained) {
+        this.retained = retained;
+        if (!retained) {
+            displayList = null;
+        }
+        invalidateRetained();
+    }
+
+    /**
+     * Re-record the panel on the next frame. Call when state that is not part of the render key changes.
+     */
+    public void invalidateRetained() {
+        retainedKey.reset();
+    }
+
+    /**
+     * Show placeholder lines instead of the contents until the panel's data has loaded.
+     */
+    public void setLoading(boolean loading) {
+        this.loading = loading;
+        invalidateRetained();
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+
+    /**
+     * Draw the loading placeholder: pulsing lines filling the content area.
+     */
+    protected void renderSkeleton(DrawContext context) {
+        float phase = (Util.getMeasuringTimeMs() % SKELETON_PULSE_MS) / (float) SKELETON_PULSE_MS;
+        int color = SKELETON_RAMP.get(0.5f + 0.5f * MathHelper.sin(phase * MathHelper.TAU));
+
+        int lineX = getContentX();
+        int lineY = getContentY() + SKELETON_LINE_GAP / 2;
+        int bottom = getContentY() + getContentHeight();
+        int maxWidth = getContentWidth() - 10;
+        for (int i = 0; lineY + SKELETON_LINE_HEIGHT <= bottom; i++) {
+            int lineWidth = maxWidth * SKELETON_WIDTHS[i % SKELETON_WIDTHS.length] / 100;
+            QuadBatcher.fill(context, lineX, lineY, lineX + lineWidth, lineY + SKELETON_LINE_HEIGHT, color);
+            lineY += SKELETON_LINE_HEIGHT + SKELETON_LINE_GAP;
+        }
+    }
+
+    /**
+     * Free resources held outside the heap, such as framebuffers.
+     * Called when the panel leaves its screen; the panel stays usable and recreates them if drawn again.
+     */
+    public void release() {
+    }
+
+    /**
+     * Return the panel to its initial state so a {@link sypztep.tyrannus.client.pool.WidgetPool} can hand it out again.
+     * Bounds, title and style are left for the next owner to set.
+     */
+    public void reset() {
+        hoverTransition.set(0.0f);
+        hoverAnimation = 0.0f;
+        isHovered = false;
+        clearResolvedHover();
+        boundsListener = null;
+        loading = false;
+        drawables.clear();
+        elements.clear();
+        invalidateRetained();
+    }
+
     /**
      * Render the panel.
      */
     public void render(DrawContext context, int mouseX, int mouseY, float delta) {
         // Update hover state
-        isHovered = isMouseOver(mouseX, mouseY);
+        isHovered = resolveHovered(mouseX, mouseY);
 
         // Update hover animation
-        if (isHovered) {
-            hoverAnimation = Math.min(1.0f, hoverAnimation + HOVER_ANIMATION_SPEED);
-        } else {
-            hoverAnimation = Math.max(0.0f, hoverAnimation - HOVER_ANIMATION_SPEED);
-        }
+        hoverTransition.animateTo(isHovered ? 1.0f : 0.0f);
+        hoverAnimation = hoverTransition.get();
 
         // Draw panel background and border
         drawPanel(context);
@@ -101,10 +284,19 @@ public class UIPanel {
             drawHeader(context);
         }
 
+        // Submit batched chrome before contents draw through the context directly
+        QuadBatcher.flush(context);
+
         // Draw panel content
-        renderContents(context, mouseX, mouseY, delta);
+        if (loading) {
+            renderSkeleton(context);
+            QuadBatcher.flush(context);
+        } else {
+            renderContents(context, mouseX, mouseY, delta);
+        }
 
         // Draw child widgets
+        QuadBatcher.flush(context);
         for (Drawable drawable : drawables) {
             drawable.render(context, mouseX, mouseY, delta);
         }
@@ -115,28 +307,28 @@ public class UIPanel {
      */
     protected void drawPanel(DrawContext context) {
         // Background - animate slight brightening when hovered
-        int bgColor = interpolateColor(PANEL_BACKGROUND, 0xFF222222, hoverAnimation);
-        context.fill(x, y, x + width, y + height, bgColor);
+        int bgColor = BACKGROUND_RAMP.get(hoverAnimation);
+        QuadBatcher.fill(context, x, y, x + width, y + height, bgColor);
 
         // Borders - animate to highlight color
         if (drawBorder) {
-            int borderColor = interpolateColor(PANEL_BORDER, PANEL_BORDER_HIGHLIGHT, hoverAnimation);
+            int borderColor = BORDER_RAMP.get(hoverAnimation);
 
             // Top border
-            context.fill(x, y, x + width, y + 1, borderColor);
+            QuadBatcher.fill(context, x, y, x + width, y + 1, borderColor);
             // Bottom border
-            context.fill(x, y + height - 1, x + width, y + height, borderColor);
+            QuadBatcher.fill(context, x, y + height - 1, x + width, y + height, borderColor);
             // Left border
-            context.fill(x, y, x + 1, y + height, borderColor);
+            QuadBatcher.fill(context, x, y, x + 1, y + height, borderColor);
             // Right border
-            context.fill(x + width - 1, y, x + width, y + height, borderColor);
+            QuadBatcher.fill(context, x + width - 1, y, x + width, y + height, borderColor);
 
             // Corner details
-            int cornerColor = interpolateColor(0xFF4A4A4A, PANEL_BORDER_HIGHLIGHT, hoverAnimation);
-            context.fill(x + 1, y + 1, x + 3, y + 3, cornerColor);
-            context.fill(x + width - 3, y + 1, x + width - 1, y + 3, cornerColor);
-            context.fill(x + 1, y + height - 3, x + 3, y + height - 1, cornerColor);
-            context.fill(x + width - 3, y + height - 3, x + width - 1, y + height - 1, cornerColor);
+            int cornerColor = CORNER_RAMP.get(hoverAnimation);
+            QuadBatcher.fill(context, x + 1, y + 1, x + 3, y + 3, cornerColor);
+            QuadBatcher.fill(context, x + width - 3, y + 1, x + width - 1, y + 3, cornerColor);
+            QuadBatcher.fill(context, x + 1, y + height - 3, x + 3, y + height - 1, cornerColor);
+            QuadBatcher.fill(context, x + width - 3, y + height - 3, x + width - 1, y + height - 1, cornerColor);
 
             // Add an elegant glow effect on hover
             if (hoverAnimation > 0.0f) {
@@ -144,10 +336,10 @@ public class UIPanel {
                 int glowColor = (glowAlpha << 24) | 0xFFFFFF; // White glow with variable alpha
 
                 // Subtle outer glow
-                context.fill(x - 1, y - 1, x + width + 1, y, glowColor); // Top
-                context.fill(x - 1, y + height, x + width + 1, y + height + 1, glowColor); // Bottom
-                context.fill(x - 1, y, x, y + height, glowColor); // Left
-                context.fill(x + width, y, x + width + 1, y + height, glowColor); // Right
+                QuadBatcher.fill(context, x - 1, y - 1, x + width + 1, y, glowColor); // Top
+                QuadBatcher.fill(context, x - 1, y + height, x + width + 1, y + height + 1, glowColor); // Bottom
+                QuadBatcher.fill(context, x - 1, y, x, y + height, glowColor); // Left
+                QuadBatcher.fill(context, x + width, y, x + width + 1, y + height, glowColor); // Right
             }
         }
     }
@@ -159,14 +351,15 @@ public class UIPanel {
         int headerHeight = textRenderer.fontHeight + padding * 2;
 
         // Header background with hover effect
-        int headerBgColor = interpolateColor(HEADER_BG, 0xFF2A2A2A, hoverAnimation);
-        context.fill(x + 1, y + 1, x + width - 1, y + headerHeight, headerBgColor);
+        int headerBgColor = HEADER_BG_RAMP.get(hoverAnimation);
+        QuadBatcher.fill(context, x + 1, y + 1, x + width - 1, y + headerHeight, headerBgColor);
 
         // Header text with subtle animation
-        int titleWidth = textRenderer.getWidth(title);
+        int titleWidth = TextMetricsCache.getWidth(title);
         float scale = 1.0f + (0.05f * hoverAnimation); // Slight scale up on hover
-        int titleColor = interpolateColor(HEADER_COLOR, 0xFFFFFFFF, hoverAnimation * 0.3f); // Subtle brightening
+        int titleColor = HEADER_TEXT_RAMP.get(hoverAnimation * 0.3f); // Subtle brightening
 
+        QuadBatcher.flush(context);
         context.getMatrices().push();
         context.getMatrices().translate(
                 x + (width - titleWidth * scale) / 2,
@@ -176,7 +369,7 @@ public class UIPanel {
 
         context.drawTextWithShadow(
                 textRenderer,
-                title,
+                TextMetricsCache.getOrderedText(title),
                 0, 0,
                 titleColor
         );
@@ -191,30 +384,7 @@ public class UIPanel {
      * Draw a gradient divider line.
      */
     protected void drawGradientDivider(DrawContext context, int x, int y, int width, float hoverStrength) {
-        int segments = width / 2;
-        int segmentWidth = width / segments;
-
-        for (int i = 0; i < segments; i++) {
-            float ratio = (float)i / segments;
-
-            float baseEdgeRatio = Math.min(ratio, 1 - ratio) * 2;
-            float animatedRatio = baseEdgeRatio + ((1 - baseEdgeRatio) * 0.3f * hoverStrength);
-
-            int alpha = (int)(animatedRatio * 255);
-            // Shift color slightly toward gold when hovered
-            int color;
-            if (hoverStrength > 0) {
-                int r = 0x66 + (int)((0xA0 - 0x66) * hoverStrength);
-                int g = 0x66 + (int)((0x80 - 0x66) * hoverStrength);
-                int b = 0x66;
-                color = (alpha << 24) | (r << 16) | (g << 8) | b;
-            } else {
-                color = (alpha << 24) | 0x666666;
-            }
-
-            int segX = x + (i * segmentWidth);
-            context.fill(segX, y, segX + segmentWidth, y + 1, color);
-        }
+        divider.render(context, x, y, width, hoverStrength);
     }
 
     /**
@@ -229,25 +399,7 @@ public class UIPanel {
      * Interpolate between two colors based on a progress value (0.0 to 1.0).
      */
     protected static int interpolateColor(int color1, int color2, float progress) {
-        if (progress <= 0) return color1;
-        if (progress >= 1) return color2;
-
-        int a1 = (color1 >> 24) & 0xFF;
-        int r1 = (color1 >> 16) & 0xFF;
-        int g1 = (color1 >> 8) & 0xFF;
-        int b1 = color1 & 0xFF;
-
-        int a2 = (color2 >> 24) & 0xFF;
-        int r2 = (color2 >> 16) & 0xFF;
-        int g2 = (color2 >> 8) & 0xFF;
-        int b2 = color2 & 0xFF;
-
-        int a = (int)(a1 + (a2 - a1) * progress);
-        int r = (int)(r1 + (r2 - r1) * progress);
-        int g = (int)(g1 + (g2 - g1) * progress);
-        int b = (int)(b1 + (b2 - b1) * progress);
-
-        return (a << 24) | (r << 16) | (g << 8) | b;
+        return ColorUtil.lerp(color1, color2, progress);
     }
 
     /**
@@ -267,20 +419,87 @@ public class UIPanel {
     }
 
     /**
-     * Handle mouse click in the panel.
-     * @return true if the click was handled
+     * Route an event through this panel: the capture phase, then the child widgets, then
+     * the typed handler of the panel as the event bubbles back up. Stops once it is consumed.
+     * @return true if the event was consumed
      */
-    public boolean mouseClicked(double mouseX, double mouseY, int button) {
-        if (isMouseOver(mouseX, mouseY)) {
-            for (Element element : elements) {
-                if (element.mouseClicked(mouseX, mouseY, button)) {
-                    return true;
-                }
+    public boolean dispatchEvent(UIEvent event) {
+        event.setPhase(UIEvent.Phase.CAPTURE);
+        onCaptureEvent(event);
+        if (event.isConsumed()) return true;
+
+        if (event.isPointerCaptured()) {
+            Element child = event.getCapturedChild();
+            if (child != null && event.deliverTo(child)) return true;
+        } else {
+            for (int i = 0; i < elements.size(); i++) {
+                if (event.deliverTo(elements.get(i))) return true;
             }
         }
+
+        event.setPhase(UIEvent.Phase.BUBBLE);
+        if (handleEvent(event)) {
+            event.consume();
+        }
+        return event.isConsumed();
+    }
+
+    /**
+     * Look at an event before the child widgets get it. Consume it to keep it from them.
+     */
+    protected void onCaptureEvent(UIEvent event) {
+    }
+
+    /**
+     * Call the typed handler for an event no child widget consumed.
+     * @return true if the event was handled
+     */
+    protected boolean handleEvent(UIEvent event) {
+        return switch (event.getType()) {
+            case PRESS -> mouseClicked(event.getMouseX(), event.getMouseY(), event.getButton());
+            case RELEASE -> mouseReleased(event.getMouseX(), event.getMouseY(), event.getButton());
+            case MOVE -> {
+                mouseMoved(event.getMouseX(), event.getMouseY());
+                yield false;
+            }
+            case DRAG -> mouseDragged(event.getMouseX(), event.getMouseY(), event.getButton(), event.getDeltaX(), event.getDeltaY());
+            case SCROLL -> handleScrolling(event.getDeltaX(), event.getDeltaY());
+            case KEY_PRESS -> keyPressed(event.getKeyCode(), event.getScanCode(), event.getModifiers());
+            case KEY_RELEASE -> keyReleased(event.getKeyCode(), event.getScanCode(), event.getModifiers());
+        };
+    }
+
+    /**
+     * Handle mouse click in the panel. Child widgets have already declined it.
+     * A handled click captures the pointer: the following drag and release come to this panel.
+     * @return true if the click was handled
+     */
+    public boolean mouseClicked(double mouseX, double mouseY, int button) {
+        return false;
+    }
+
+    /**
+     * Handle the release of a click this panel handled, wherever the mouse is.
+     * @return true if the release was handled
+     */
+    public boolean mouseReleased(double mouseX, double mouseY, int button) {
         return false;
     }
 
+    /**
+     * Handle a drag after a click this panel handled, wherever the mouse is.
+     * @return true if the drag was handled
+     */
+    public boolean mouseDragged(double mouseX, double mouseY, int button, double dragX, double dragY) {
+        return false;
+    }
+
+    /**
+     * Handle the mouse moving over the panel.
+     */
+    public void mouseMoved(double mouseX, double mouseY) {
+    }
+
     /**
      * Handle scrolling within the panel.
      * @return true if the scrolling was handled
@@ -289,6 +508,57 @@ public class UIPanel {
         return false;
     }
 
+    /**
+     * Handle a key press while the mouse is over the panel or the pointer is captured by it.
+     * @return true if the key was handled
+     */
+    public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+        return false;
+    }
+
+    /**
+     * Handle a key release, routed like {@link #keyPressed}.
+     * @return true if the key was handled
+     */
+    public boolean keyReleased(int keyCode, int scanCode, int modifiers) {
+        return false;
+    }
+
+    /**
+     * Set the hover state from outside, for panels whose hover is resolved by a hit index.
+     */
+    public void setResolvedHover(boolean hovered) {
+        this.hoverResolved = true;
+        this.resolvedHover = hovered;
+    }
+
+    /**
+     * Hover state for this frame: the resolved state if set, otherwise a test of the mouse position.
+     */
+    protected boolean resolveHovered(int mouseX, int mouseY) {
+        return hoverResolved ? resolvedHover : isMouseOver(mouseX, mouseY);
+    }
+
+    /**
+     * Go back to testing the mouse position in {@link #render}.
+     */
+    public void clearResolvedHover() {
+        this.hoverResolved = false;
+    }
+
+    /**
+     * Set a callback run whenever the panel bounds change, or null to remove it.
+     */
+    public void setBoundsListener(Runnable boundsListener) {
+        this.boundsListener = boundsListener;
+    }
+
+    private void notifyBoundsChanged() {
+        if (boundsListener != null) {
+            boundsListener.run();
+        }
+    }
+
     /**
      * Check if the mouse is over the panel.
      */
@@ -324,11 +594,19 @@ public class UIPanel {
         return contentHeight;
     }
 
+    /**
+     * Get the panel title, or null if it has none.
+     */
+    public Text getTitle() {
+        return title;
+    }
+
     /**
      * Set the panel title.
      */
     public void setTitle(Text title) {
         this.title = title;
+        invalidateRetained();
     }
 
     /**
@@ -337,6 +615,7 @@ public class UIPanel {
     public void setDrawHeader(boolean drawHeader) {
         this.drawHeader = drawHeader;
         updateContentBounds();
+        invalidateRetained();
     }
 
     /**
@@ -344,6 +623,7 @@ public class UIPanel {
      */
     public void setDrawBorder(boolean drawBorder) {
         this.drawBorder = drawBorder;
+        invalidateRetained();
     }
 
     /**
@@ -352,13 +632,47 @@ public class UIPanel {
     public void setPadding(int padding) {
         this.padding = padding;
         updateContentBounds();
+        invalidateRetained();
+    }
+
+    /**
+     * Move and resize the panel, updating its content area.
+     */
+    public void setBounds(int x, int y, int width, int height) {
+        if (x == this.x && y == this.y && width == this.width && height == this.height) return;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        updateContentBounds();
+        notifyBoundsChanged();
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
     }
 
     public void setX(int x) {
+        if (x == this.x) return;
         this.x = x;
+        notifyBoundsChanged();
     }
 
     public void setY(int y) {
+        if (y == this.y) return;
         this.y = y;
+        notifyBoundsChanged();
     }
 }
\ No newline at end of file
@@ -0,0 +1,261 @@
+package sypztep.tyrannus.client.screen.panel;
+
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.text.Text;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * A scrollable list that only renders and hit-tests the rows in view.
+ * <p>
+ * Rows are drawn by a small pool of {@link Row} instances that are rebound to new
+ * items as the list scrolls, so the cost of a frame depends on the number of visible
+ * rows, not on the size of the data. Rows have a fixed height, or a height per item
+ * from a provider, in which case row offsets are kept as cached prefix sums.
+ */
+public abstract class VirtualListPanel<T> extends ScrollablePanel {
+    private List<T> items;
+
+    // Row heights: fixed, or per item through the provider
+    private final int fixedRowHeight;
+    private final ToIntFunction<T> rowHeightProvider;
+    private int[] rowTops = new int[0]; // rowTops[i] = offset of row i, rowTops[size] = total height
+    private int indexedRows = 0;
+
+    // Recycled rows, slot = item index % pool size
+    private Row<T>[] pool;
+
+    /**
+     * Create a list with a fixed row height.
+     */
+    public VirtualListPanel(int x, int y, int width, int height, Text title, List<T> items, int rowHeight) {
+        this(x, y, width, height, title, items, rowHeight, null);
+    }
+
+    /**
+     * Create a list with a height per item.
+     */
+    public VirtualListPanel(int x, int y, int width, int height, Text title, List<T> items, ToIntFunction<T> rowHeightProvider) {
+        this(x, y, width, height, title, items, 0, rowHeightProvider);
+    }
+
+    private VirtualListPanel(int x, int y, int width, int height, Text title, List<T> items, int rowHeight, ToIntFunction<T> rowHeightProvider) {
+        super(x, y, width, height, title);
+        this.items = items;
+        this.fixedRowHeight = rowHeight;
+        this.rowHeightProvider = rowHeightProvider;
+        setContentHeight(computeTotalHeight());
+    }
+
+    /**
+     * Create a row widget. Called only when the pool needs to grow.
+     */
+    protected abstract Row<T> createRow();
+
+    /**
+     * Replace the data source.
+     */
+    public void setItems(List<T> items) {
+        this.items = items;
+        notifyDataChanged();
+    }
+
+    /**
+     * Call when existing items changed in a way that affects their height or content.
+     * Appending items is picked up automatically.
+     */
+    public void notifyDataChanged() {
+        indexedRows = 0;
+        if (pool != null) {
+            for (Row<T> row : pool) {
+                if (row != null) row.boundIndex = -1;
+            }
+        }
+        setContentHeight(computeTotalHeight());
+    }
+
+    @Override
+    protected void updateMaxScroll() {
+        if (items != null && items.size() != indexedRows) {
+            contentTotalHeight = computeTotalHeight();
+        }
+        super.updateMaxScroll();
+    }
+
+    private int computeTotalHeight() {
+        int size = items.size();
+        if (rowHeightProvider == null) {
+            indexedRows = size;
+            return size * fixedRowHeight;
+        }
+
+        // Extend the prefix sums from the last indexed row, or rebuild if the list shrank
+        if (size < indexedRows) indexedRows = 0;
+        if (rowTops.length < size + 1) {
+            rowTops = Arrays.copyOf(rowTops, Math.max(size + 1, rowTops.length * 2));
+        }
+        for (int i = indexedRows; i < size; i++) {
+            rowTops[i + 1] = rowTops[i] + rowHeightProvider.applyAsInt(items.get(i));
+        }
+        indexedRows = size;
+        return rowTops[size];
+    }
+
+    /**
+     * Offset of a row from the top of the content.
+     */
+    protected int getRowTop(int index) {
+        return rowHeightProvider == null ? index * fixedRowHeight : rowTops[index];
+    }
+
+    protected int getRowHeight(int index) {
+        return rowHeightProvider == null ? fixedRowHeight : rowTops[index + 1] - rowTops[index];
+    }
+
+    /**
+     * Index of the row at a content offset, or -1 if there is none.
+     */
+    protected int getRowAt(int offset) {
+        int size = indexedRows;
+        if (offset < 0 || size == 0) return -1;
+
+        if (rowHeightProvider == null) {
+            int index = fixedRowHeight > 0 ? offset / fixedRowHeight : -1;
+            return index < size ? index : -1;
+        }
+        if (offset >= rowTops[size]) return -1;
+
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (rowTops[mid] <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    protected void renderScrollableContent(DrawContext context, int mouseX, int mouseY, float delta) {
+        int scroll = (int) scrollAmount;
+        int first = getRowAt(scroll);
+        if (first < 0) return;
+
+        int rowX = getContentX();
+        int rowWidth = getContentWidth() - (enableScrollbar && maxScroll > 0 ? scrollbarWidth + scrollbarPadding : 0);
+        int viewBottom = scroll + getContentHeight();
+
+        int last = first;
+        while (last + 1 < indexedRows && getRowTop(last + 1) < viewBottom) {
+            last++;
+        }
+        ensurePool(last - first + 1);
+
+        for (int index = first; index <= last; index++) {
+            Row<T> row = acquire(index);
+            int rowY = getContentY() + getRowTop(index) - scroll;
+            row.setBounds(rowX, rowY, rowWidth, getRowHeight(index));
+            row.render(context, mouseX, mouseY, delta);
+        }
+    }
+
+    @Override
+    public boolean mouseClicked(double mouseX, double mouseY, int button) {
+        if (isScrollbarClicked(mouseX, mouseY)) {
+            return super.mouseClicked(mouseX, mouseY, button);
+        }
+
+        if (mouseY >= getContentY() && mouseY < getContentY() + getContentHeight()) {
+            int index = getRowAt((int)(mouseY - getContentY() + scrollAmount));
+            if (index >= 0 && pool != null) {
+                Row<T> row = pool[index % pool.length];
+                if (row != null && row.boundIndex == index && row.mouseClicked(mouseX, mouseY, button)) {
+                    return true;
+                }
+            }
+        }
+        return super.mouseClicked(mouseX, mouseY, button);
+    }
+
+    /**
+     * Make sure the pool can hold the given number of visible rows.
+     */
+    @SuppressWarnings("unchecked")
+    private void ensurePool(int visibleRows) {
+        int needed = visibleRows + 1;
+        if (pool == null || pool.length < needed) {
+            Row<T>[] grown = (Row<T>[]) new Row[needed];
+            if (pool != null) {
+                // Keep the existing instances, they are rebound as needed
+                for (int i = 0; i < pool.length; i++) {
+                    grown[i] = pool[i];
+                    if (grown[i] != null) grown[i].boundIndex = -1;
+                }
+            }
+            pool = grown;
+        }
+    }
+
+    private Row<T> acquire(int index) {
+        int slot = index % pool.length;
+        Row<T> row = pool[slot];
+        if (row == null) {
+            row = createRow();
+            pool[slot] = row;
+        }
+        if (row.boundIndex != index) {
+            row.boundIndex = index;
+            row.bind(items.get(index), index);
+        }
+        return row;
+    }
+
+    /**
+     * A recyclable row widget.
+     */
+    public abstract static class Row<T> {
+        private int boundIndex = -1;
+        protected int x;
+        protected int y;
+        protected int width;
+        protected int height;
+
+        /**
+         * Show a new item in this row.
+         */
+        protected abstract void bind(T item, int index);
+
+        /**
+         * Render the row at its current bounds.
+         */
+        protected abstract void render(DrawContext context, int mouseX, int mouseY, float delta);
+
+        /**
+         * Handle a click inside the row.
+         * @return true if the click was handled
+         */
+        protected boolean mouseClicked(double mouseX, double mouseY, int button) {
+            return false;
+        }
+
+        void setBounds(int x, int y, int width, int height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        public boolean isMouseOver(double mouseX, double mouseY) {
+            return mouseX >= x && mouseX < x + width && mouseY >= y && mouseY < y + height;
+        }
+
+        public int getBoundIndex() {
+            return boundIndex;
+        }
+    }
+}
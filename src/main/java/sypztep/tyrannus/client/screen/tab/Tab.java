@@ -4,11 +4,15 @@ import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
+import sypztep.tyrannus.Tyrannus;
+import sypztep.tyrannus.client.layout.FlexLayout;
+import sypztep.tyrannus.client.layout.LeafNode;
 import sypztep.tyrannus.client.screen.BaseScreen;
+import sypztep.tyrannus.client.screen.PanelLayer;
 import sypztep.tyrannus.client.screen.panel.UIPanel;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Abstract tab class for creating tabs in tabbed interfaces.
@@ -20,8 +24,17 @@ public abstract class Tab {
     protected final Text label;
     protected final Identifier icon;
 
-    // UI components in this tab
-    protected final List<UIPanel> panels = new ArrayList<>();
+    // Space around the tab content, leaving room for the title and nav bar
+    protected static final int CONTENT_MARGIN_LEFT = 10;
+    protected static final int CONTENT_MARGIN_TOP = 65;
+    protected static final int CONTENT_MARGIN_RIGHT = 10;
+    protected static final int CONTENT_MARGIN_BOTTOM = 35;
+
+    // UI components in this tab, shown as one layer of the parent screen while active
+    protected final PanelLayer panelLayer = new PanelLayer();
+
+    // Layout of the panels added with addLayoutPanel, sized to the parent screen
+    protected final FlexLayout layout = FlexLayout.column();
 
     // Parent screen reference
     protected BaseScreen parentScreen;
@@ -29,6 +42,15 @@ public abstract class Tab {
 
     // Tab state
     protected boolean isActive = false;
+    protected boolean initialized = false;
+
+    // Loads started for the current panels; results of loads for older panels are dropped
+    private int dataGeneration = 0;
+    private int pendingLoads = 0;
+
+    // Screen size the panels were last laid out for
+    private int layoutWidth = -1;
+    private int layoutHeight = -1;
 
     /**
      * Create a new tab with an icon.
@@ -38,6 +60,7 @@ public abstract class Tab {
         this.label = label;
         this.icon = icon;
         this.client = MinecraftClient.getInstance();
+        layout.padding(CONTENT_MARGIN_LEFT, CONTENT_MARGIN_TOP, CONTENT_MARGIN_RIGHT, CONTENT_MARGIN_BOTTOM);
     }
 
     /**
@@ -48,12 +71,96 @@ public abstract class Tab {
     }
 
     /**
-     * Initialize the tab. Called when the tab is created.
+     * Attach the tab to its screen without building its panels.
+     * They are built by {@link #ensureInitialized()}, on first activation at the latest.
      */
-    public void init(BaseScreen parentScreen) {
+    public void attach(BaseScreen parentScreen) {
         this.parentScreen = parentScreen;
-        panels.clear();
+        initialized = false;
+    }
+
+    /**
+     * Attach the tab to its screen and build its panels right away.
+     */
+    public void init(BaseScreen parentScreen) {
+        attach(parentScreen);
+        ensureInitialized();
+    }
+
+    /**
+     * Build the panels of this tab if that has not happened since it was attached.
+     */
+    public void ensureInitialized() {
+        if (initialized || parentScreen == null) return;
+        initialized = true;
+        dataGeneration++;
+        pendingLoads = 0;
+        panelLayer.clear();
+        layout.clear();
         initPanels();
+        layoutPanels();
+    }
+
+    /**
+     * Load data off the render thread, typically from {@link #initPanels()} while the panels show a placeholder.
+     * The callback runs on the render thread at the start of a frame, unless the panels were rebuilt in between.
+     */
+    protected <T> void loadData(TabDataProvider<T> provider, Consumer<T> onLoaded) {
+        loadData(provider, onLoaded, error -> {});
+    }
+
+    /**
+     * Load data off the render thread. Failures are logged before {@code onFailed} runs.
+     */
+    protected <T> void loadData(TabDataProvider<T> provider, Consumer<T> onLoaded, Consumer<Throwable> onFailed) {
+        int generation = dataGeneration;
+        pendingLoads++;
+        TabDataLoader.submit(provider, data -> {
+            if (generation != dataGeneration) return;
+            pendingLoads--;
+            onLoaded.accept(data);
+        }, error -> {
+            if (generation != dataGeneration) return;
+            pendingLoads--;
+            Tyrannus.LOGGER.error("Failed to load data for tab {}", id, error);
+            onFailed.accept(error);
+        });
+    }
+
+    /**
+     * Whether data loads started for the current panels are still running.
+     */
+    public boolean isLoading() {
+        return pendingLoads > 0;
+    }
+
+    /**
+     * Whether the panels of this tab have been built.
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Lay out the panels of this tab for the current screen size.
+     * Only panels whose bounds changed are updated.
+     */
+    public void layoutPanels() {
+        if (parentScreen != null) {
+            layout.layoutRoot(0, 0, parentScreen.width, parentScreen.height);
+            layoutWidth = parentScreen.width;
+            layoutHeight = parentScreen.height;
+        }
+    }
+
+    /**
+     * Lay out the panels again if the screen was resized since they were last laid out.
+     * Tabs that were never initialized are skipped, they are laid out when built.
+     */
+    public void updateLayout() {
+        if (initialized && (layoutWidth != parentScreen.width || layoutHeight != parentScreen.height)) {
+            layoutPanels();
+        }
     }
 
     /**
@@ -66,10 +173,10 @@ public abstract class Tab {
      * Called when this tab becomes active.
      */
     public void onActivate() {
+        ensureInitialized();
+        updateLayout(); // The screen may have been resized while the tab was hidden
         isActive = true;
-        for (UIPanel panel : panels) {
-            parentScreen.addPanel(panel);
-        }
+        parentScreen.setTabLayer(panelLayer);
     }
 
     /**
@@ -77,11 +184,18 @@ public abstract class Tab {
      */
     public void onDeactivate() {
         isActive = false;
-        for (UIPanel panel : panels) {
-            parentScreen.removePanel(panel);
+        if (parentScreen.getTabLayer() == panelLayer) {
+            parentScreen.setTabLayer(null);
         }
     }
 
+    /**
+     * Release the resources of this tab's panels, e.g. when its screen closes.
+     */
+    public void release() {
+        panelLayer.release();
+    }
+
     /**
      * Handle any tab-specific rendering.
      * This is called after all panels have been rendered.
@@ -110,13 +224,28 @@ public abstract class Tab {
         return icon;
     }
 
+    /**
+     * Get the panels of this tab.
+     */
+    public List<UIPanel> getPanels() {
+        return panelLayer.getPanels();
+    }
+
+    /**
+     * Add a panel to this tab and place it in the tab layout.
+     * The panel shares the remaining space unless the returned node is given a size.
+     */
+    protected LeafNode addLayoutPanel(UIPanel panel) {
+        addPanel(panel);
+        LeafNode node = layout.add(LeafNode.of(panel));
+        node.grow(1.0f);
+        return node;
+    }
+
     /**
      * Add a panel to this tab.
      */
     protected <T extends UIPanel> void addPanel(T panel) {
-        panels.add(panel);
-        if (isActive && parentScreen != null) {
-            parentScreen.addPanel(panel);
-        }
+        panelLayer.add(panel);
     }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package sypztep.tyrannus.client.screen.tab;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs {@link TabDataProvider}s on virtual threads and hands their results back to the render thread.
+ * <p>
+ * Results wait in a queue until {@link #drainCompleted()}, which the screen calls once at
+ * the start of a frame, so every load finished since the previous frame is applied in one
+ * batch and a slow provider never holds up a frame.
+ */
+@Environment(EnvType.CLIENT)
+public final class TabDataLoader {
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("tyrannus-tab-data-", 0).factory());
+
+    // Callbacks of finished loads, run on the render thread
+    private static final Queue<Runnable> completed = new ConcurrentLinkedQueue<>();
+
+    private TabDataLoader() {
+    }
+
+    /**
+     * Start loading. Exactly one of the callbacks runs, on the render thread.
+     */
+    public static <T> void submit(TabDataProvider<T> provider, Consumer<T> onLoaded, Consumer<Throwable> onFailed) {
+        EXECUTOR.execute(() -> {
+            Runnable result;
+            try {
+                T data = provider.load();
+                result = () -> onLoaded.accept(data);
+            } catch (Throwable error) {
+                result = () -> onFailed.accept(error);
+            }
+            completed.add(result);
+        });
+    }
+
+    /**
+     * Apply every result completed since the last call. Render thread only.
+     */
+    public static void drainCompleted() {
+        Runnable result;
+        while ((result = completed.poll()) != null) {
+            result.run();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package sypztep.tyrannus.client.screen.tab;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+/**
+ * Loads the data shown by a tab, off the render thread.
+ * <p>
+ * Implementations may block on disk or network. They run on a virtual thread and must
+ * not touch panels or other client state; the result is handed to the tab on the
+ * render thread.
+ */
+@Environment(EnvType.CLIENT)
+@FunctionalInterface
+public interface TabDataProvider<T> {
+    T load() throws Exception;
+}
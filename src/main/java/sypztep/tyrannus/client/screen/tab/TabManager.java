@@ -1,6 +1,7 @@
 package sypztep.tyrannus.client.screen.tab;
 
 import net.minecraft.client.gui.DrawContext;
+import net.minecraft.util.Util;
 import sypztep.tyrannus.client.screen.BaseScreen;
 import sypztep.tyrannus.client.screen.panel.NavBar;
 
@@ -25,6 +26,12 @@ public final class TabManager {
     private NavBar navBar;
     private int navBarHeight = 30;
 
+    // Speculative initialization of the tab under the mouse, after it was hovered for a moment
+    private static final long PREFETCH_DELAY_MS = 100;
+    private boolean prefetchOnHover = false;
+    private String prefetchTabId = null;
+    private long prefetchStartMs = 0;
+
     /**
      * Create a new tab manager.
      */
@@ -38,11 +45,13 @@ public final class TabManager {
     public void init(int x, int y, int width) {
         // Create nav bar
         navBar = new NavBar(x, y, width, navBarHeight);
+        navBar.setHoverListener(this::onNavBarHover);
+        prefetchTabId = null;
 
-        // Add tabs to nav bar
+        // Add tabs to nav bar. Their panels are built when they are first shown
         for (Tab tab : tabs) {
             navBar.addItem(tab.getId(), tab.getLabel(), tab.getIcon(), this::selectTab);
-            tab.init(parentScreen);
+            tab.attach(parentScreen);
         }
 
         parentScreen.addPanel(navBar);
@@ -54,6 +63,21 @@ public final class TabManager {
         }
     }
 
+    /**
+     * Move the nav bar and re-lay out the active tab after the screen was resized, keeping every panel.
+     * Hidden tabs are laid out when they are next activated.
+     */
+    public void layout(int x, int y, int width) {
+        if (navBar != null) {
+            navBar.setBounds(x, y, width, navBarHeight);
+        }
+
+        Tab activeTab = getActiveTab();
+        if (activeTab != null) {
+            activeTab.updateLayout();
+        }
+    }
+
     /**
      * Register a tab with the manager.
      */
@@ -62,6 +86,16 @@ public final class TabManager {
         tabsById.put(tab.getId(), tab);
     }
 
+    /**
+     * Set the tab shown when the manager is initialized, instead of the first one.
+     * Unknown IDs are ignored.
+     */
+    public void setInitialTab(String tabId) {
+        if (tabsById.containsKey(tabId)) {
+            activeTabId = tabId;
+        }
+    }
+
     /**
      * Select a tab by ID.
      */
@@ -84,6 +118,36 @@ public final class TabManager {
         }
     }
 
+    /**
+     * Initialize tabs while their nav bar item is hovered, so switching to them is instant.
+     */
+    public void setPrefetchOnHover(boolean prefetchOnHover) {
+        this.prefetchOnHover = prefetchOnHover;
+        if (!prefetchOnHover) {
+            prefetchTabId = null;
+        }
+    }
+
+    private void onNavBarHover(String tabId) {
+        if (!prefetchOnHover) return;
+        prefetchTabId = tabId;
+        prefetchStartMs = Util.getMeasuringTimeMs();
+    }
+
+    /**
+     * Initialize the hovered tab once the mouse has rested on it.
+     * Runs after the panels were rendered, so the work never lands in the middle of a frame's panel loop.
+     */
+    private void prefetch() {
+        if (prefetchTabId == null || Util.getMeasuringTimeMs() - prefetchStartMs < PREFETCH_DELAY_MS) return;
+
+        Tab tab = tabsById.get(prefetchTabId);
+        prefetchTabId = null;
+        if (tab != null) {
+            tab.ensureInitialized();
+        }
+    }
+
     /**
      * Get the height of the nav bar.
      */
@@ -105,6 +169,15 @@ public final class TabManager {
         return activeTabId != null ? tabsById.get(activeTabId) : null;
     }
 
+    /**
+     * Release the resources of every tab's panels.
+     */
+    public void release() {
+        for (Tab tab : tabs) {
+            tab.release();
+        }
+    }
+
     /**
      * Render any additional tab content.
      */
@@ -114,5 +187,7 @@ public final class TabManager {
         if (activeTab != null) {
             activeTab.render(context, mouseX, mouseY, delta);
         }
+
+        prefetch();
     }
 }
\ No newline at end of file
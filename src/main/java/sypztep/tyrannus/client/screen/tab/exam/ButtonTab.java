@@ -6,14 +6,18 @@ import sypztep.tyrannus.client.screen.panel.Button;
 import sypztep.tyrannus.client.screen.tab.Tab;
 
 public class ButtonTab extends Tab {
+    private Button fancyButton;
+    private Button disabledButton;
+    private Button iconButton;
+
     public ButtonTab() {
         super("ButtonTab", Text.literal("Button"));
     }
 
     @Override
     protected void initPanels() {
-        Button fancyButton = new Button(
-                parentScreen.width/2 - 60, parentScreen.height/2 - 10,
+        fancyButton = new Button(
+                0, 0,
                 120, 30,
                 Text.literal("Click Me!"),
                 button -> System.out.println("Clicked!")
@@ -24,28 +28,43 @@ public class ButtonTab extends Tab {
                 .setShadowIntensity(1.0f)      // Drop shadow
                 .setPlaySounds(true, true);    // Enable hover and click sounds
 
-        panels.add(fancyButton);
+        addPanel(fancyButton);
 
         // Create a disabled button
-        Button disabledButton = new Button(
-                parentScreen.width/2 - 60, parentScreen.height/2 + 30,
+        disabledButton = new Button(
+                0, 0,
                 120, 30,
                 Text.literal("Disabled"),
                 null
         )
                 .setEnabled(false);
 
-        panels.add(disabledButton);
+        addPanel(disabledButton);
 
         // Create a button with an icon
-        Button iconButton = new Button(
-                parentScreen.width/2 - 60, parentScreen.height/2 + 70,
+        iconButton = new Button(
+                0, 0,
                 120, 30,
                 Text.literal("Settings"),
                 Identifier.ofVanilla("icon/info"),
                 button -> System.out.println("Settings clicked!")
         );
 
-        panels.add(iconButton);
+        addPanel(iconButton);
+    }
+
+    @Override
+    public void layoutPanels() {
+        super.layoutPanels();
+
+        // Centered on the screen, outside of the tab layout
+        int buttonX = parentScreen.width / 2 - 60;
+        int centerY = parentScreen.height / 2;
+        fancyButton.setX(buttonX);
+        fancyButton.setY(centerY - 10);
+        disabledButton.setX(buttonX);
+        disabledButton.setY(centerY + 30);
+        iconButton.setX(buttonX);
+        iconButton.setY(centerY + 70);
     }
 }
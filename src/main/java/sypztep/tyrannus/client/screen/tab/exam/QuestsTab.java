@@ -2,8 +2,14 @@ package sypztep.tyrannus.client.screen.tab.exam;
 
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.text.Text;
+import sypztep.tyrannus.client.layout.FlexLayout;
+import sypztep.tyrannus.client.layout.LayoutNode;
+import sypztep.tyrannus.client.layout.LeafNode;
 import sypztep.tyrannus.client.screen.panel.ScrollablePanel;
 import sypztep.tyrannus.client.screen.tab.Tab;
+import sypztep.tyrannus.client.screen.tab.TabDataProvider;
+import sypztep.tyrannus.client.text.TextMetricsCache;
+import sypztep.tyrannus.client.text.WordWrapper;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,103 +21,180 @@ public class QuestsTab extends Tab {
     // Quest panel
     private QuestPanel questPanel;
 
-    // Example quests
+    // Source of the quests, replaced by tests
+    private final TabDataProvider<QuestData> questProvider;
+
+    // Quests, filled in once loaded
     private final List<Quest> activeQuests = new ArrayList<>();
     private final List<Quest> completedQuests = new ArrayList<>();
 
     public QuestsTab() {
+        this(QuestsTab::loadQuests);
+    }
+
+    QuestsTab(TabDataProvider<QuestData> questProvider) {
         super("quests", Text.of("Quests"));
+        this.questProvider = questProvider;
+    }
+
+    @Override
+    protected void initPanels() {
+        // Create quests panel, sized by the tab layout
+        questPanel = new QuestPanel(0, 0, 0, 0, Text.of("Quests"));
+        addLayoutPanel(questPanel);
 
-        // Initialize example quests
-        activeQuests.add(new Quest(
+        // Show a placeholder until the quests are loaded
+        questPanel.setLoading(true);
+        loadData(questProvider, this::applyQuests, error -> questPanel.setLoading(false));
+    }
+
+    /**
+     * Load the quests. Runs off the render thread.
+     */
+    private static QuestData loadQuests() {
+        // Example quests
+        List<Quest> active = new ArrayList<>();
+        List<Quest> completed = new ArrayList<>();
+
+        active.add(new Quest(
                 "The Lost Artifact",
                 "Find the ancient artifact hidden in the abandoned temple.",
                 2, false
         ));
 
-        activeQuests.add(new Quest(
+        active.add(new Quest(
                 "Goblin Threat",
                 "Defeat 10 goblins terrorizing the local village. (3/10)",
                 1, false
         ));
 
-        completedQuests.add(new Quest(
+        completed.add(new Quest(
                 "First Steps",
                 "Complete the tutorial and meet with the village elder.",
                 0, true
         ));
+
+        return new QuestData(active, completed);
     }
 
-    @Override
-    protected void initPanels() {
-        int panelX = 10;
-        int panelY = 65; // Below nav bar
-        int panelWidth = parentScreen.width - 20;
-        int panelHeight = parentScreen.height - 100; // Space for nav and bottom UI
-
-        // Create quests panel
-        questPanel = new QuestPanel(panelX, panelY, panelWidth, panelHeight, Text.of("Quests"));
-        addPanel(questPanel);
+    private void applyQuests(QuestData data) {
+        activeQuests.clear();
+        activeQuests.addAll(data.active());
+        completedQuests.clear();
+        completedQuests.addAll(data.completed());
+
+        questPanel.buildRows();
+        questPanel.setLoading(false);
+    }
+
+    record QuestData(List<Quest> active, List<Quest> completed) {
     }
 
     /**
      * Custom panel for displaying quests.
      */
     private class QuestPanel extends ScrollablePanel {
+        // Row layout of the scrollable content
+        private final FlexLayout rows = FlexLayout.column();
+        private final List<LayoutNode> activeRows = new ArrayList<>();
+        private final List<LayoutNode> completedRows = new ArrayList<>();
+        private LayoutNode activeHeader;
+        private LayoutNode completedHeader;
+
         public QuestPanel(int x, int y, int width, int height, Text title) {
             super(x, y, width, height, title);
-            updateContentHeight();
+            setRetained(true);
+            buildRows();
         }
 
-        private void updateContentHeight() {
-            // Calculate total content height based on number of quests
-            int totalHeight = 50; // Header
-            totalHeight += activeQuests.size() * 70;
-            totalHeight += 50; // Completed header
-            totalHeight += completedQuests.size() * 50;
-            totalHeight += 20; // Padding
+        /**
+         * Build one layout row per header and quest. The content height follows from it.
+         */
+        private void buildRows() {
+            rows.clear();
+            activeRows.clear();
+            completedRows.clear();
+            rows.size(LayoutNode.FILL, LayoutNode.WRAP);
+            rows.padding(0, 0, 0, 20); // Bottom padding
+
+            activeHeader = rows.add(LeafNode.fixed(LayoutNode.FILL, 30));
+            for (int i = 0; i < activeQuests.size(); i++) {
+                activeRows.add(rows.add(LeafNode.fixed(LayoutNode.FILL, 70)));
+            }
+
+            rows.add(LeafNode.fixed(LayoutNode.FILL, 20));
+            completedHeader = rows.add(LeafNode.fixed(LayoutNode.FILL, 30));
+            for (int i = 0; i < completedQuests.size(); i++) {
+                completedRows.add(rows.add(LeafNode.fixed(LayoutNode.FILL, 50)));
+            }
 
-            setContentHeight(totalHeight);
+            setContentLayout(rows);
         }
 
         @Override
         protected void renderScrollableContent(DrawContext context, int mouseX, int mouseY, float delta) {
             int x = getContentX();
             int width = getContentWidth() - scrollbarWidth - 10;
-            int y = getContentY() - (int)scrollAmount;
+            int top = getContentY() - (int)scrollAmount;
+
+            // Only rows overlapping the viewport are drawn, as content offsets
+            int visibleTop = (int)scrollAmount;
+            int visibleBottom = visibleTop + getContentHeight();
 
             // Active Quests Header
-            context.drawTextWithShadow(
-                    textRenderer,
-                    "ACTIVE QUESTS",
-                    x + (width - textRenderer.getWidth("ACTIVE QUESTS")) / 2,
-                    y + 10,
-                    0xFFFFD700
-            );
-            y += 30;
+            if (isVisible(activeHeader, visibleTop, visibleBottom)) {
+                context.drawTextWithShadow(
+                        textRenderer,
+                        "ACTIVE QUESTS",
+                        x + (width - TextMetricsCache.getWidth("ACTIVE QUESTS")) / 2,
+                        top + activeHeader.getY() + 10,
+                        0xFFFFD700
+                );
+            }
 
             // Draw active quests
-            for (Quest quest : activeQuests) {
-                drawQuest(context, quest, x, y, width);
-                y += 70;
-            }
+            drawQuests(context, activeQuests, activeRows, x, top, width, visibleTop, visibleBottom);
 
             // Completed Quests Header
-            y += 20;
-            context.drawTextWithShadow(
-                    textRenderer,
-                    "COMPLETED QUESTS",
-                    x + (width - textRenderer.getWidth("COMPLETED QUESTS")) / 2,
-                    y,
-                    0xFFFFD700
-            );
-            y += 30;
+            if (isVisible(completedHeader, visibleTop, visibleBottom)) {
+                context.drawTextWithShadow(
+                        textRenderer,
+                        "COMPLETED QUESTS",
+                        x + (width - TextMetricsCache.getWidth("COMPLETED QUESTS")) / 2,
+                        top + completedHeader.getY(),
+                        0xFFFFD700
+                );
+            }
 
             // Draw completed quests
-            for (Quest quest : completedQuests) {
-                drawQuest(context, quest, x, y, width);
-                y += 50;
+            drawQuests(context, completedQuests, completedRows, x, top, width, visibleTop, visibleBottom);
+        }
+
+        /**
+         * Draw the quests whose rows overlap the visible content offsets.
+         */
+        private void drawQuests(DrawContext context, List<Quest> quests, List<LayoutNode> questRows, int x, int top, int width,
+                                int visibleTop, int visibleBottom) {
+            // Rows are stacked in order, so the first visible one is found by binary search
+            int low = 0;
+            int high = questRows.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                LayoutNode row = questRows.get(mid);
+                if (row.getY() + row.getHeight() <= visibleTop) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
             }
+
+            for (int i = low; i < questRows.size() && questRows.get(i).getY() < visibleBottom; i++) {
+                drawQuest(context, quests.get(i), x, top + questRows.get(i).getY(), width);
+            }
+        }
+
+        private static boolean isVisible(LayoutNode row, int visibleTop, int visibleBottom) {
+            return row.getY() + row.getHeight() > visibleTop && row.getY() < visibleBottom;
         }
 
         /**
@@ -137,7 +220,7 @@ public class QuestsTab extends Tab {
             if (!quest.completed) {
                 context.drawTextWithShadow(
                         textRenderer,
-                        quest.description,
+                        quest.getDescriptionLine(width - 20),
                         x + 10,
                         y + 25,
                         0xFFCCCCCC
@@ -149,7 +232,7 @@ public class QuestsTab extends Tab {
             context.drawTextWithShadow(
                     textRenderer,
                     statusText,
-                    x + width - textRenderer.getWidth(statusText) - 10,
+                    x + width - TextMetricsCache.getWidth(statusText) - 10,
                     y + 5,
                     quest.completed ? 0xFF55FF55 : 0xFFFFAA00
             );
@@ -159,12 +242,16 @@ public class QuestsTab extends Tab {
     /**
      * Class to store quest data.
      */
-    private static class Quest {
+    static class Quest {
         final String title;
         final String description;
         final int difficulty; // 0 = Easy, 1 = Medium, 2 = Hard, 3 = Legendary
         final boolean completed;
 
+        // Description truncated to a single line, cached per width
+        private String descriptionLine;
+        private int descriptionLineWidth = -1;
+
         Quest(String title, String description, int difficulty, boolean completed) {
             this.title = title;
             this.description = description;
@@ -172,6 +259,20 @@ public class QuestsTab extends Tab {
             this.completed = completed;
         }
 
+        /**
+         * Get the description shortened with an ellipsis to fit the given width.
+         */
+        String getDescriptionLine(int maxWidth) {
+            if (maxWidth != descriptionLineWidth) {
+                int end = WordWrapper.shared().truncate(description, maxWidth);
+                descriptionLine = end == description.length()
+                        ? description
+                        : description.substring(0, end) + WordWrapper.ELLIPSIS;
+                descriptionLineWidth = maxWidth;
+            }
+            return descriptionLine;
+        }
+
         int getDifficultyColor() {
             return switch (difficulty) {
                 case 0 -> 0xFF55FF55; // Easy - Green
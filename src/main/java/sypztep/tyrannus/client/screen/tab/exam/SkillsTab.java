@@ -2,11 +2,21 @@ package sypztep.tyrannus.client.screen.tab.exam;
 
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.text.Text;
+import sypztep.tyrannus.client.layout.FlexLayout;
+import sypztep.tyrannus.client.layout.LayoutNode;
+import sypztep.tyrannus.client.layout.LeafNode;
+import sypztep.tyrannus.client.observable.IntProperty;
+import sypztep.tyrannus.client.pool.WidgetPools;
 import sypztep.tyrannus.client.screen.panel.Button;
 import sypztep.tyrannus.client.screen.panel.ScrollablePanel;
 import sypztep.tyrannus.client.screen.tab.Tab;
+import sypztep.tyrannus.client.text.TextMetricsCache;
+import sypztep.tyrannus.client.tooltip.TooltipContent;
+import sypztep.tyrannus.client.tooltip.TooltipManager;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -15,21 +25,41 @@ import java.util.Map;
 public class SkillsTab extends Tab {
 
     // Available skill points
-    private int availablePoints = 5;
+    private final IntProperty availablePoints = new IntProperty(0);
+    private String pointsText = "Available Points: 0";
 
-    // Skills data
+    // Skills data, filled in once loaded
     private final Map<String, SkillAttribute> attributes = new HashMap<>();
 
     // Reference to the scrollable panel that contains skills
     private SkillsScrollPanel skillsPanel;
 
-    // Tooltip data
-    private String hoverTooltip = null;
+    // Bindings, kept in fields so they can be removed and are coalesced by identity
+    private final Runnable pointsChanged = this::onPointsChanged;
+    private final Runnable levelChanged = this::onLevelChanged;
 
     public SkillsTab() {
         super("skills", Text.of("Skills"));
+        availablePoints.addListener(pointsChanged);
+    }
 
-        // Initialize example attributes
+    @Override
+    protected void initPanels() {
+        // Create scrollable skills panel, sized by the tab layout
+        skillsPanel = new SkillsScrollPanel(0, 0, 0, 0, Text.of("Character Attributes"));
+        addLayoutPanel(skillsPanel);
+
+        // Show a placeholder until the attributes are loaded
+        skillsPanel.setLoading(true);
+        loadData(SkillsTab::loadSkills, this::applySkills, error -> skillsPanel.setLoading(false));
+    }
+
+    /**
+     * Load the attributes and available points. Runs off the render thread.
+     */
+    private static SkillsData loadSkills() {
+        // Example attributes
+        Map<String, SkillAttribute> attributes = new HashMap<>();
         attributes.put("strength", new SkillAttribute("Strength", 10,
                 "Increases physical damage and carrying capacity"));
         attributes.put("dexterity", new SkillAttribute("Dexterity", 8,
@@ -44,56 +74,65 @@ public class SkillsTab extends Tab {
                 "Increases stamina and equipment load"));
         attributes.put("luck", new SkillAttribute("Luck", 6,
                 "Improves item drop rates and critical hit chance"));
+
+        return new SkillsData(5, attributes);
     }
 
-    @Override
-    protected void initPanels() {
-        int panelX = 10;
-        int panelY = 65; // Below nav bar
-        int panelWidth = parentScreen.width - 20;
-        int panelHeight = parentScreen.height - 100; // Space for nav and bottom UI
-
-        // Create scrollable skills panel
-        skillsPanel = new SkillsScrollPanel(panelX, panelY, panelWidth, panelHeight,
-                Text.of("Character Attributes"));
-        addPanel(skillsPanel);
+    private void applySkills(SkillsData data) {
+        for (SkillAttribute attribute : attributes.values()) {
+            attribute.level.removeListener(levelChanged);
+        }
+        attributes.clear();
+        attributes.putAll(data.attributes());
+        for (SkillAttribute attribute : attributes.values()) {
+            attribute.level.addListener(levelChanged);
+        }
+        availablePoints.set(data.availablePoints());
+
+        skillsPanel.buildRows();
+        skillsPanel.setLoading(false);
+    }
+
+    private record SkillsData(int availablePoints, Map<String, SkillAttribute> attributes) {
     }
 
     @Override
     public void render(DrawContext context, int mouseX, int mouseY, float delta) {
         super.render(context, mouseX, mouseY, delta);
 
-        // Draw tooltip if hovering over an attribute
-        if (hoverTooltip != null) {
-            int tooltipWidth = client.textRenderer.getWidth(hoverTooltip);
-            int tooltipX = Math.min(mouseX + 12, parentScreen.width - tooltipWidth - 12);
-            int tooltipY = mouseY + 12;
-
-            // Draw tooltip background
-            context.fill(tooltipX - 4, tooltipY - 4,
-                    tooltipX + tooltipWidth + 4, tooltipY + client.textRenderer.fontHeight + 4,
-                    0xE0000000);
-
-            // Draw tooltip text
-            context.drawText(client.textRenderer, hoverTooltip, tooltipX, tooltipY, 0xFFFFFFFF, false);
-
-            // Reset tooltip for next frame
-            hoverTooltip = null;
+        // Show the tooltip of the attribute under the mouse. Found from the layout rather than
+        // while drawing, since a retained panel does not redraw every frame
+        TooltipContent tooltip = skillsPanel.findTooltipAt(mouseX, mouseY);
+        if (tooltip != null) {
+            TooltipManager.show(tooltip, mouseX, mouseY);
         }
     }
 
     /**
      * Attempt to upgrade an attribute.
+     * Both changes are picked up by the bindings in a single pass at the start of the next frame.
      */
     private void upgradeAttribute(String attributeId) {
-        if (availablePoints > 0 && attributes.containsKey(attributeId)) {
+        if (availablePoints.get() > 0 && attributes.containsKey(attributeId)) {
             SkillAttribute attribute = attributes.get(attributeId);
-            attribute.level++;
-            availablePoints--;
+            attribute.level.set(attribute.level.get() + 1);
+            availablePoints.set(availablePoints.get() - 1);
 
             // Here you would normally save the attribute change
-            // For now we just update the UI
-            skillsPanel.refreshContent();
+        }
+    }
+
+    private void onPointsChanged() {
+        pointsText = "Available Points: " + availablePoints.get();
+        if (skillsPanel != null) {
+            skillsPanel.updateButtonsEnabled();
+            skillsPanel.invalidateRetained();
+        }
+    }
+
+    private void onLevelChanged() {
+        if (skillsPanel != null) {
+            skillsPanel.invalidateRetained();
         }
     }
 
@@ -101,29 +140,55 @@ public class SkillsTab extends Tab {
      * Custom scrollable panel for skills.
      */
     private class SkillsScrollPanel extends ScrollablePanel {
+        private static final int ATTRIBUTE_HEIGHT = 40;
+
         private final Map<String, Button> upgradeButtons = new HashMap<>();
 
+        // Row layout of the scrollable content
+        private final FlexLayout rows = FlexLayout.column();
+        private final List<LeafNode> attributeRows = new ArrayList<>();
+        private LayoutNode columnHeader;
+
+        // Rows and buttons were returned to their pools by release(), rebuilt when drawn again
+        private boolean pooledReleased = false;
+
         public SkillsScrollPanel(int x, int y, int width, int height, Text title) {
             super(x, y, width, height, title);
-            initContent();
+            setRetained(true);
+            buildRows();
         }
 
-        private void initContent() {
-            int itemHeight = 40;
-            int headerHeight = 60;
-            int contentHeight = headerHeight + (attributes.size() * itemHeight) + 20; // Extra padding
-            setContentHeight(contentHeight);
+        /**
+         * Build one layout row per attribute, then the upgrade buttons.
+         * Rows of the previous build are reused through the row pool.
+         */
+        public void buildRows() {
+            rows.clear();
+            releaseRows();
+            rows.size(LayoutNode.FILL, LayoutNode.WRAP);
+            rows.add(LeafNode.fixed(LayoutNode.FILL, 60)); // Title and available points
+            columnHeader = rows.add(LeafNode.fixed(LayoutNode.FILL, 20));
+            for (int i = 0; i < attributes.size(); i++) {
+                LeafNode row = WidgetPools.ROWS.acquire();
+                row.size(LayoutNode.FILL, ATTRIBUTE_HEIGHT);
+                attributeRows.add(rows.add(row));
+            }
+            setContentLayout(rows);
+            pooledReleased = false;
 
-            refreshContent();
+            createButtons();
         }
 
-        public void refreshContent() {
-            // Clear existing buttons
-            upgradeButtons.clear();
+        /**
+         * Create the upgrade buttons, once per loaded set of attributes.
+         */
+        private void createButtons() {
+            invalidateRetained();
+
+            // Return existing buttons to the pool
+            releaseButtons();
 
             // Create new buttons for each attribute
-            int y = 80; // Start of attributes
-            int attributeHeight = 40;
             int availableWidth = getContentWidth() - (enableScrollbar ? scrollbarWidth + scrollbarPadding + 10 : 5);
 
             int index = 0;
@@ -132,19 +197,15 @@ public class SkillsTab extends Tab {
 
                 // Create a small "+" button
                 int buttonX = getContentX() + availableWidth - 40;
-                int buttonY = getContentY() + y + (index * attributeHeight) + (attributeHeight - 20) / 2;
-
-                Button upgradeButton = new Button(
-                        buttonX,
-                        buttonY,
-                        20,
-                        20,
-                        Text.of("+"),
-                        button -> upgradeAttribute(attrId)
-                );
+                int buttonY = getContentY() + attributeRows.get(index).getY() + (ATTRIBUTE_HEIGHT - 20) / 2;
+
+                Button upgradeButton = WidgetPools.BUTTONS.acquire();
+                upgradeButton.setBounds(buttonX, buttonY, 20, 20);
+                upgradeButton.setTitle(Text.of("+"));
+                upgradeButton.setOnClick(button -> upgradeAttribute(attrId));
 
                 // Customize button appearance
-                upgradeButton.setEnabled(availablePoints > 0);
+                upgradeButton.setEnabled(availablePoints.get() > 0);
                 upgradeButton.setGlowIntensity(1.5f);
                 upgradeButton.setBounceIntensity(0.8f);
 
@@ -153,36 +214,87 @@ public class SkillsTab extends Tab {
             }
         }
 
+        private void releaseRows() {
+            for (LeafNode row : attributeRows) {
+                WidgetPools.ROWS.release(row);
+            }
+            attributeRows.clear();
+        }
+
+        private void releaseButtons() {
+            for (Button upgradeButton : upgradeButtons.values()) {
+                WidgetPools.BUTTONS.release(upgradeButton);
+            }
+            upgradeButtons.clear();
+        }
+
+        @Override
+        public void release() {
+            super.release();
+            if (pooledReleased) return;
+            rows.clear();
+            releaseRows();
+            releaseButtons();
+            pooledReleased = true;
+        }
+
+        @Override
+        public boolean isAnimating() {
+            if (super.isAnimating()) return true;
+            // The buttons are drawn as part of this panel
+            for (Button upgradeButton : upgradeButtons.values()) {
+                if (upgradeButton.isAnimating()) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void renderFrame(DrawContext context, int mouseX, int mouseY, float delta) {
+            if (pooledReleased) {
+                buildRows();
+            }
+            super.renderFrame(context, mouseX, mouseY, delta);
+        }
+
+        /**
+         * Enable the upgrade buttons while points are available.
+         */
+        public void updateButtonsEnabled() {
+            boolean enabled = availablePoints.get() > 0;
+            for (Button upgradeButton : upgradeButtons.values()) {
+                upgradeButton.setEnabled(enabled);
+            }
+        }
+
         @Override
         protected void renderScrollableContent(DrawContext context, int mouseX, int mouseY, float delta) {
             int x = getContentX();
-            int y = getContentY() - (int)scrollAmount;
+            int top = getContentY() - (int)scrollAmount;
             int availableWidth = getContentWidth() - (enableScrollbar ? scrollbarWidth + scrollbarPadding + 10 : 5);
+            int attributeHeight = ATTRIBUTE_HEIGHT;
 
             // Draw header with available points
-            int headerY = y + 10;
+            int headerY = top + 10;
             String headerText = "CHARACTER ATTRIBUTES";
             context.drawTextWithShadow(
                     textRenderer,
                     headerText,
-                    x + (availableWidth - textRenderer.getWidth(headerText)) / 2,
+                    x + (availableWidth - TextMetricsCache.getWidth(headerText)) / 2,
                     headerY,
                     0xFFFFD700
             );
 
             // Draw points info
-            String pointsText = "Available Points: " + availablePoints;
             context.drawTextWithShadow(
                     textRenderer,
                     pointsText,
-                    x + (availableWidth - textRenderer.getWidth(pointsText)) / 2,
+                    x + (availableWidth - TextMetricsCache.getWidth(pointsText)) / 2,
                     headerY + 20,
-                    availablePoints > 0 ? 0xFF55FF55 : 0xFFAAAAAA
+                    availablePoints.get() > 0 ? 0xFF55FF55 : 0xFFAAAAAA
             );
 
             // Draw attributes section
-            y += 60;
-            int attributeHeight = 40;
+            int y = top + columnHeader.getY();
 
             // Draw attribute name column header
             context.drawTextWithShadow(
@@ -202,7 +314,7 @@ public class SkillsTab extends Tab {
                     0xFFAAAAAA
             );
 
-            y += 20;
+            y += columnHeader.getHeight();
 
             // Draw separator line
             context.fill(x, y - 5, x + availableWidth, y - 4, 0x80FFFFFF);
@@ -212,6 +324,7 @@ public class SkillsTab extends Tab {
             for (Map.Entry<String, SkillAttribute> entry : attributes.entrySet()) {
                 String attrId = entry.getKey();
                 SkillAttribute attribute = entry.getValue();
+                y = top + attributeRows.get(index).getY();
 
                 // Alternate row backgrounds
                 boolean isEven = (index % 2 == 0);
@@ -228,11 +341,10 @@ public class SkillsTab extends Tab {
                 );
 
                 // Draw attribute level
-                String levelText = String.valueOf(attribute.level);
                 context.drawTextWithShadow(
                         textRenderer,
-                        levelText,
-                        x + availableWidth - 100 + (40 - textRenderer.getWidth(levelText)) / 2,
+                        attribute.levelText,
+                        x + availableWidth - 100 + (40 - TextMetricsCache.getWidth(attribute.levelText)) / 2,
                         y + (attributeHeight - textRenderer.fontHeight) / 2,
                         0xFFFFCC00
                 );
@@ -243,19 +355,39 @@ public class SkillsTab extends Tab {
                     // Update button position based on scroll position
                     button.setX(x + availableWidth - 40);
                     button.setY(y + (attributeHeight - 20) / 2);
-                    button.setEnabled(availablePoints > 0);
                     button.render(context, mouseX, mouseY, delta);
                 }
 
-                // Check if hovering over attribute name for tooltip
-                if (mouseX >= x + 35 && mouseX <= x + availableWidth - 150 &&
-                        mouseY >= y && mouseY <= y + attributeHeight) {
-                    hoverTooltip = attribute.description;
-                }
+                index++;
+            }
+        }
+
+        /**
+         * Get the tooltip of the attribute whose name is under the mouse, or null.
+         */
+        public TooltipContent findTooltipAt(int mouseX, int mouseY) {
+            int viewportTop = getContentY();
+            if (mouseY < viewportTop || mouseY >= viewportTop + getContentHeight()) {
+                return null;
+            }
+
+            int x = getContentX();
+            int availableWidth = getContentWidth() - (enableScrollbar ? scrollbarWidth + scrollbarPadding + 10 : 5);
+            if (mouseX < x + 35 || mouseX > x + availableWidth - 150) {
+                return null;
+            }
 
-                y += attributeHeight;
+            int top = viewportTop - (int)scrollAmount;
+            int index = 0;
+            for (SkillAttribute attribute : attributes.values()) {
+                if (index >= attributeRows.size()) break; // Rows were released
+                int y = top + attributeRows.get(index).getY();
+                if (mouseY >= y && mouseY <= y + ATTRIBUTE_HEIGHT) {
+                    return attribute.tooltip;
+                }
                 index++;
             }
+            return null;
         }
 
         @Override
@@ -271,6 +403,19 @@ public class SkillsTab extends Tab {
 
             return super.mouseClicked(mouseX, mouseY, button);
         }
+
+        @Override
+        public boolean mouseReleased(double mouseX, double mouseY, int button) {
+            // The pointer is captured by this panel, so the release arrives even off the button
+            boolean handled = super.mouseReleased(mouseX, mouseY, button);
+            for (Button upgradeButton : upgradeButtons.values()) {
+                if (upgradeButton.mouseReleased(mouseX, mouseY, button)) {
+                    invalidateRetained();
+                    handled = true;
+                }
+            }
+            return handled;
+        }
     }
 
     /**
@@ -278,13 +423,20 @@ public class SkillsTab extends Tab {
      */
     private static class SkillAttribute {
         String name;
-        int level;
+        final IntProperty level;
         String description;
+        final TooltipContent tooltip;
+
+        // Level as drawn, updated only when the level changes
+        String levelText;
 
         SkillAttribute(String name, int level, String description) {
             this.name = name;
-            this.level = level;
+            this.level = new IntProperty(level);
             this.description = description;
+            this.tooltip = TooltipContent.of(description);
+            this.levelText = String.valueOf(level);
+            this.level.addListener(() -> levelText = String.valueOf(this.level.get()));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,125 @@
+package sypztep.tyrannus.client.text;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.text.OrderedText;
+import net.minecraft.text.Text;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the width and flattened {@link OrderedText} of text drawn every frame.
+ * <p>
+ * Entries are keyed by the {@link Text} itself, which compares content and style,
+ * and evicted least-recently-used once the cache is full. The cache is cleared on
+ * resource reload, since fonts and the language may have changed.
+ */
+@Environment(EnvType.CLIENT)
+public final class TextMetricsCache {
+    private static final int MAX_ENTRIES = 1024;
+
+    private static final Map<Text, Entry> texts = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Text, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private static final Map<String, Integer> strings = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private static long hits = 0;
+    private static long misses = 0;
+    private static int generation = 0;
+
+    private TextMetricsCache() {
+    }
+
+    /**
+     * Get the rendered width of a text.
+     */
+    public static int getWidth(Text text) {
+        return get(text).width;
+    }
+
+    /**
+     * Get the flattened text, ready to be drawn.
+     */
+    public static OrderedText getOrderedText(Text text) {
+        return get(text).orderedText;
+    }
+
+    /**
+     * Get the rendered width of a plain string.
+     */
+    public static int getWidth(String text) {
+        Integer width = strings.get(text);
+        if (width != null) {
+            hits++;
+            return width;
+        }
+        misses++;
+        int measured = textRenderer().getWidth(text);
+        strings.put(text, measured);
+        return measured;
+    }
+
+    private static Entry get(Text text) {
+        Entry entry = texts.get(text);
+        if (entry != null) {
+            hits++;
+            return entry;
+        }
+        misses++;
+        OrderedText orderedText = text.asOrderedText();
+        entry = new Entry(textRenderer().getWidth(orderedText), orderedText);
+        texts.put(text, entry);
+        return entry;
+    }
+
+    /**
+     * Drop all cached metrics. Called on resource reload.
+     */
+    public static void invalidate() {
+        texts.clear();
+        strings.clear();
+        generation++;
+    }
+
+    /**
+     * Incremented on every {@link #invalidate()}, so layouts built from cached widths can tell when to rebuild.
+     */
+    public static int getGeneration() {
+        return generation;
+    }
+
+    public static long getHits() {
+        return hits;
+    }
+
+    public static long getMisses() {
+        return misses;
+    }
+
+    public static int getSize() {
+        return texts.size() + strings.size();
+    }
+
+    public static void resetCounters() {
+        hits = 0;
+        misses = 0;
+    }
+
+    private static TextRenderer textRenderer() {
+        return MinecraftClient.getInstance().textRenderer;
+    }
+
+    private record Entry(int width, OrderedText orderedText) {
+    }
+}
@@ -0,0 +1,213 @@
+package sypztep.tyrannus.client.text;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
+
+import java.util.Arrays;
+
+/**
+ * Wraps plain strings into lines without allocating.
+ * <p>
+ * Widths are accumulated one code point at a time, so each character is measured once
+ * per wrap instead of re-measuring the whole candidate line for every word. Words
+ * longer than the line are broken hard, never inside a surrogate pair. Results are
+ * returned as {@code [start, end)} char ranges into the original text, stored in
+ * reusable buffers: read them before the next call on the same instance.
+ */
+@Environment(EnvType.CLIENT)
+public final class WordWrapper {
+    /**
+     * Supplies the advance width of a code point.
+     */
+    @FunctionalInterface
+    public interface CharWidths {
+        float getWidth(int codePoint);
+    }
+
+    public static final String ELLIPSIS = "...";
+
+    private static WordWrapper shared;
+    private static float[][] widthPages = new float[256][];
+
+    private final CharWidths widths;
+    private int[] lineStarts = new int[16];
+    private int[] lineEnds = new int[16];
+    private int lineCount = 0;
+
+    public WordWrapper(CharWidths widths) {
+        this.widths = widths;
+    }
+
+    /**
+     * The wrapper for the client text renderer, using the default font style.
+     * Only use it from the render thread.
+     */
+    public static WordWrapper shared() {
+        if (shared == null) {
+            shared = new WordWrapper(WordWrapper::cachedWidth);
+        }
+        return shared;
+    }
+
+    /**
+     * Forget the cached character widths. Called on resource reload.
+     */
+    public static void invalidateWidths() {
+        widthPages = new float[256][];
+    }
+
+    /**
+     * Width of a code point, cached for the Basic Multilingual Plane.
+     * Code points past U+FFFF are rare in UI text and measured every time.
+     */
+    private static float cachedWidth(int codePoint) {
+        if (codePoint > 0xFFFF) {
+            return measure(codePoint);
+        }
+        float[] page = widthPages[codePoint >>> 8];
+        if (page == null) {
+            page = new float[256];
+            Arrays.fill(page, Float.NaN);
+            widthPages[codePoint >>> 8] = page;
+        }
+        float width = page[codePoint & 0xFF];
+        if (Float.isNaN(width)) {
+            width = measure(codePoint);
+            page[codePoint & 0xFF] = width;
+        }
+        return width;
+    }
+
+    private static float measure(int codePoint) {
+        TextRenderer textRenderer = MinecraftClient.getInstance().textRenderer;
+        return textRenderer.getTextHandler().getWidth(Character.toString(codePoint));
+    }
+
+    /**
+     * Wrap text to the given width.
+     *
+     * @return the number of lines, see {@link #getLineStart} and {@link #getLineEnd}
+     */
+    public int wrap(CharSequence text, int maxWidth) {
+        lineCount = 0;
+        int length = text.length();
+        int lineStart = 0;
+        int lastSpace = -1;
+        float lineWidth = 0;
+        float widthAfterSpace = 0; // width of the characters after lastSpace
+
+        for (int i = 0, next; i < length; i = next) {
+            int c = Character.codePointAt(text, i);
+            next = i + Character.charCount(c);
+            if (c == '\n') {
+                addLine(lineStart, i);
+                lineStart = next;
+                lastSpace = -1;
+                lineWidth = 0;
+                widthAfterSpace = 0;
+                continue;
+            }
+
+            float charWidth = widths.getWidth(c);
+            if (c == ' ') {
+                if (i == lineStart) {
+                    // Drop separators at the start of a wrapped line
+                    lineStart = next;
+                    continue;
+                }
+                lastSpace = i;
+                widthAfterSpace = 0;
+                lineWidth += charWidth;
+                continue;
+            }
+
+            if (lineWidth + charWidth > maxWidth && i > lineStart) {
+                if (lastSpace > lineStart) {
+                    // Break at the last space
+                    addLine(lineStart, trimTrailingSpaces(text, lineStart, lastSpace));
+                    lineStart = lastSpace + 1;
+                    lineWidth = widthAfterSpace;
+                }
+                // The word moved to the new line may still not fit with this character, break it hard
+                if (lineWidth + charWidth > maxWidth && i > lineStart) {
+                    addLine(lineStart, i);
+                    lineStart = i;
+                    lineWidth = 0;
+                    widthAfterSpace = 0;
+                }
+                lastSpace = -1;
+            }
+
+            lineWidth += charWidth;
+            widthAfterSpace += charWidth;
+        }
+
+        if (lineStart < length) {
+            addLine(lineStart, trimTrailingSpaces(text, lineStart, length));
+        }
+        return lineCount;
+    }
+
+    /**
+     * Find how much of a text fits on one line.
+     *
+     * @return {@code text.length()} if the whole text fits, otherwise the end index of
+     * the longest prefix that fits together with {@link #ELLIPSIS}
+     */
+    public int truncate(CharSequence text, int maxWidth) {
+        int length = text.length();
+        if (measure(text, length) <= maxWidth) return length;
+
+        float width = measure(ELLIPSIS, ELLIPSIS.length());
+        int end = 0;
+        while (end < length) {
+            int c = Character.codePointAt(text, end);
+            float charWidth = widths.getWidth(c);
+            if (width + charWidth > maxWidth) break;
+            width += charWidth;
+            end += Character.charCount(c);
+        }
+        return trimTrailingSpaces(text, 0, end);
+    }
+
+    private float measure(CharSequence text, int end) {
+        float width = 0;
+        for (int i = 0; i < end; ) {
+            int c = Character.codePointAt(text, i);
+            width += widths.getWidth(c);
+            i += Character.charCount(c);
+        }
+        return width;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public int getLineStart(int line) {
+        return lineStarts[line];
+    }
+
+    public int getLineEnd(int line) {
+        return lineEnds[line];
+    }
+
+    private void addLine(int start, int end) {
+        if (lineCount == lineStarts.length) {
+            lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+            lineEnds = Arrays.copyOf(lineEnds, lineCount * 2);
+        }
+        lineStarts[lineCount] = start;
+        lineEnds[lineCount] = end;
+        lineCount++;
+    }
+
+    private static int trimTrailingSpaces(CharSequence text, int start, int end) {
+        while (end > start && text.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return end;
+    }
+}
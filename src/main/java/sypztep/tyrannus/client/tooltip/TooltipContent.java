@@ -0,0 +1,96 @@
+package sypztep.tyrannus.client.tooltip;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.text.OrderedText;
+import net.minecraft.text.Text;
+import sypztep.tyrannus.client.text.TextMetricsCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The lines of a tooltip, with an optional variant shown while Shift is held.
+ * <p>
+ * Create one per widget or item and keep it. The wrapped lines and the size of each
+ * variant are computed the first time they are shown, and again only after a resource
+ * reload changed the font.
+ */
+@Environment(EnvType.CLIENT)
+public final class TooltipContent {
+    /** Wrap width used by {@link #of(String)}. */
+    public static final int DEFAULT_MAX_WIDTH = 200;
+
+    static final int LINE_HEIGHT = 10;
+    static final int TITLE_GAP = 2;
+
+    private final List<Text> lines;
+    private final List<Text> shiftLines;
+    private final int maxWidth;
+
+    // Layouts of both variants, built lazily for the text metrics generation they were built in
+    private Layout layout;
+    private Layout shiftLayout;
+    private int generation = -1;
+
+    /**
+     * @param shiftLines lines shown instead while Shift is held, or null to always show {@code lines}
+     * @param maxWidth   width to wrap lines at, or 0 to keep them as they are
+     */
+    public TooltipContent(List<Text> lines, List<Text> shiftLines, int maxWidth) {
+        this.lines = List.copyOf(lines);
+        this.shiftLines = shiftLines != null ? List.copyOf(shiftLines) : null;
+        this.maxWidth = maxWidth;
+    }
+
+    /**
+     * A tooltip of a single paragraph, wrapped at {@link #DEFAULT_MAX_WIDTH}.
+     */
+    public static TooltipContent of(String text) {
+        return new TooltipContent(List.of(Text.literal(text)), null, DEFAULT_MAX_WIDTH);
+    }
+
+    /**
+     * Get the wrapped lines of the variant to show.
+     */
+    Layout getLayout(TextRenderer textRenderer, boolean shiftDown) {
+        if (generation != TextMetricsCache.getGeneration()) {
+            generation = TextMetricsCache.getGeneration();
+            layout = null;
+            shiftLayout = null;
+        }
+
+        if (shiftDown && shiftLines != null) {
+            if (shiftLayout == null) shiftLayout = layout(textRenderer, shiftLines);
+            return shiftLayout;
+        }
+        if (layout == null) layout = layout(textRenderer, lines);
+        return layout;
+    }
+
+    private Layout layout(TextRenderer textRenderer, List<Text> source) {
+        List<OrderedText> wrapped = new ArrayList<>(source.size());
+        for (Text line : source) {
+            if (maxWidth > 0) {
+                wrapped.addAll(textRenderer.wrapLines(line, maxWidth));
+            } else {
+                wrapped.add(line.asOrderedText());
+            }
+        }
+
+        int width = 0;
+        for (OrderedText line : wrapped) {
+            width = Math.max(width, textRenderer.getWidth(line));
+        }
+        // Like vanilla tooltips: the first line is set apart, the last one has no spacing below
+        int height = wrapped.size() == 1 ? textRenderer.fontHeight : wrapped.size() * LINE_HEIGHT;
+        return new Layout(List.copyOf(wrapped), width, height);
+    }
+
+    /**
+     * Wrapped lines of one variant and the size they take, without the background border.
+     */
+    record Layout(List<OrderedText> lines, int width, int height) {
+    }
+}
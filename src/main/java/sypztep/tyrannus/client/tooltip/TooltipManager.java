@@ -0,0 +1,115 @@
+package sypztep.tyrannus.client.tooltip;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.screen.v1.ScreenEvents;
+import net.fabricmc.fabric.api.client.screen.v1.ScreenKeyboardEvents;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.client.gui.tooltip.HoveredTooltipPositioner;
+import net.minecraft.client.gui.tooltip.TooltipBackgroundRenderer;
+import net.minecraft.client.util.InputUtil;
+import net.minecraft.text.OrderedText;
+import org.joml.Vector2ic;
+import org.lwjgl.glfw.GLFW;
+import sypztep.tyrannus.client.render.QuadBatcher;
+
+import java.util.List;
+
+/**
+ * Draws the tooltips of every screen, at most one per frame and above everything else.
+ * <p>
+ * Widgets call {@link #show} while rendering when they are hovered; the last call of a
+ * frame wins and is drawn after the screen finished rendering. The Shift variant of a
+ * tooltip follows Shift key events instead of polling the keyboard every frame.
+ * Render thread only.
+ */
+@Environment(EnvType.CLIENT)
+public final class TooltipManager {
+    private static final int TOOLTIP_Z = 400;
+
+    // Tooltip requested during the current frame
+    private static TooltipContent pending;
+    private static int pendingX;
+    private static int pendingY;
+
+    // Shift state, from key events
+    private static boolean leftShiftDown = false;
+    private static boolean rightShiftDown = false;
+
+    private TooltipManager() {
+    }
+
+    /**
+     * Hook into a screen after it was initialized: draw its tooltip after it renders and watch the Shift keys.
+     */
+    public static void attach(Screen screen) {
+        pending = null;
+
+        // Shift may already be held when the screen opens; read it once and follow key events from here on
+        long window = MinecraftClient.getInstance().getWindow().getHandle();
+        leftShiftDown = InputUtil.isKeyPressed(window, GLFW.GLFW_KEY_LEFT_SHIFT);
+        rightShiftDown = InputUtil.isKeyPressed(window, GLFW.GLFW_KEY_RIGHT_SHIFT);
+
+        ScreenEvents.afterRender(screen).register((current, context, mouseX, mouseY, delta) -> render(context));
+        ScreenKeyboardEvents.beforeKeyPress(screen).register((current, key, scancode, modifiers) -> onKey(key, true));
+        ScreenKeyboardEvents.beforeKeyRelease(screen).register((current, key, scancode, modifiers) -> onKey(key, false));
+    }
+
+    /**
+     * Show a tooltip at the mouse this frame, replacing any requested earlier in the frame.
+     */
+    public static void show(TooltipContent content, int mouseX, int mouseY) {
+        pending = content;
+        pendingX = mouseX;
+        pendingY = mouseY;
+    }
+
+    /**
+     * Whether the Shift variant of tooltips is shown.
+     */
+    public static boolean isShiftDown() {
+        return leftShiftDown || rightShiftDown;
+    }
+
+    private static void onKey(int key, boolean pressed) {
+        if (key == GLFW.GLFW_KEY_LEFT_SHIFT) {
+            leftShiftDown = pressed;
+        } else if (key == GLFW.GLFW_KEY_RIGHT_SHIFT) {
+            rightShiftDown = pressed;
+        }
+    }
+
+    /**
+     * Draw the tooltip requested this frame, if any.
+     */
+    static void render(DrawContext context) {
+        TooltipContent content = pending;
+        pending = null;
+        if (content == null) return;
+
+        TextRenderer textRenderer = MinecraftClient.getInstance().textRenderer;
+        TooltipContent.Layout layout = content.getLayout(textRenderer, isShiftDown());
+        List<OrderedText> lines = layout.lines();
+        if (lines.isEmpty()) return;
+
+        Vector2ic position = HoveredTooltipPositioner.INSTANCE.getPosition(
+                context.getScaledWindowWidth(), context.getScaledWindowHeight(),
+                pendingX, pendingY, layout.width(), layout.height());
+        int x = position.x();
+        int y = position.y();
+
+        QuadBatcher.flush(context);
+        context.getMatrices().push();
+        context.draw(() -> TooltipBackgroundRenderer.render(context, x, y, layout.width(), layout.height(), TOOLTIP_Z));
+        context.getMatrices().translate(0.0f, 0.0f, TOOLTIP_Z);
+        int lineY = y;
+        for (int i = 0; i < lines.size(); i++) {
+            context.drawText(textRenderer, lines.get(i), x, lineY, 0xFFFFFFFF, true);
+            lineY += TooltipContent.LINE_HEIGHT + (i == 0 ? TooltipContent.TITLE_GAP : 0);
+        }
+        context.getMatrices().pop();
+    }
+}
@@ -4,11 +4,11 @@ import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.narration.NarrationMessageBuilder;
 import net.minecraft.client.gui.widget.ClickableWidget;
-import net.minecraft.client.util.InputUtil;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
 import org.jetbrains.annotations.Nullable;
-import org.lwjgl.glfw.GLFW;
+import sypztep.tyrannus.client.tooltip.TooltipContent;
+import sypztep.tyrannus.client.tooltip.TooltipManager;
 
 import java.util.List;
 
@@ -17,14 +17,12 @@ public abstract class TabWidgetButton extends ClickableWidget {
     private final Identifier buttonTexture;
     private final Identifier buttonHoverTexture;
     private final Identifier icon;
-    private final List<Text> tooltip;
-    private final List<Text> shiftTooltip;
+    private final TooltipContent tooltip;
 
     public TabWidgetButton(int x, int y, int width, int height, Text message, @Nullable MinecraftClient player, Identifier icon, List<Text> tooltip, List<Text> shiftTooltip) {
         super(x, y, width, height, message);
         this.client = player;
-        this.tooltip = tooltip;
-        this.shiftTooltip = shiftTooltip;
+        this.tooltip = new TooltipContent(tooltip, shiftTooltip, 0);
         this.buttonTexture = Identifier.ofVanilla("advancements/tab_left_middle");
         this.buttonHoverTexture = Identifier.ofVanilla("advancements/tab_left_middle_selected");
         this.icon = icon;
@@ -32,8 +30,7 @@ public abstract class TabWidgetButton extends ClickableWidget {
     public TabWidgetButton(Text message, @Nullable MinecraftClient player, Identifier icon, List<Text> tooltip, List<Text> shiftTooltip) {
         super(0, 0, 32, 28, message);
         this.client = player;
-        this.tooltip = tooltip;
-        this.shiftTooltip = shiftTooltip;
+        this.tooltip = new TooltipContent(tooltip, shiftTooltip, 0);
         this.buttonTexture = Identifier.ofVanilla("advancements/tab_left_middle");
         this.buttonHoverTexture = Identifier.ofVanilla("advancements/tab_left_middle_selected");
         this.icon = icon;
@@ -47,24 +44,17 @@ public abstract class TabWidgetButton extends ClickableWidget {
         if (isHovered()) {
             context.drawGuiTexture(buttonHoverTexture, getX() + 4, getY(), getWidth(), getHeight());
             context.drawGuiTexture(icon, getX() + 10, getY() + 4,18,18);
-
-            boolean isShiftHeld = InputUtil.isKeyPressed(MinecraftClient.getInstance().getWindow().getHandle(), GLFW.GLFW_KEY_LEFT_SHIFT);
-            if (isShiftHeld) renderShiftTooltip(context, mouseX, mouseY);
-            else renderTooltip(context, mouseX, mouseY);
+            renderTooltip(context, mouseX, mouseY);
         }
     }
     @Override
     protected void appendClickableNarrations(NarrationMessageBuilder builder) {
     }
-    protected void renderTooltip(DrawContext context, int mouseX, int mouseY) {
-        if (!tooltip.isEmpty()) {
-            context.drawTooltip(MinecraftClient.getInstance().textRenderer, tooltip, mouseX, mouseY);
-        }
-    }
 
-    protected void renderShiftTooltip(DrawContext context, int mouseX, int mouseY) {
-        if (!shiftTooltip.isEmpty()) {
-            context.drawTooltip(MinecraftClient.getInstance().textRenderer, shiftTooltip, mouseX, mouseY);
-        }
+    /**
+     * Request the tooltip, drawn once after the screen and in its Shift variant while Shift is held.
+     */
+    protected void renderTooltip(DrawContext context, int mouseX, int mouseY) {
+        TooltipManager.show(tooltip, mouseX, mouseY);
     }
 }
@@ -0,0 +1,38 @@
+package sypztep.tyrannus.common.util;
+
+/**
+ * A precomputed 256-step interpolation between two ARGB colors.
+ * Lookups replace the per-frame channel unpacking of {@link ColorUtil#lerp}.
+ */
+public final class ColorRamp {
+    public static final int STEPS = 256;
+
+    private final int from;
+    private final int to;
+    private final int[] ramp = new int[STEPS];
+
+    ColorRamp(int from, int to) {
+        this.from = from;
+        this.to = to;
+        for (int i = 0; i < STEPS; i++) {
+            ramp[i] = ColorUtil.lerp(from, to, i / (float)(STEPS - 1));
+        }
+    }
+
+    /**
+     * Get the color at the given progress (0.0 to 1.0).
+     */
+    public int get(float progress) {
+        if (progress <= 0) return from;
+        if (progress >= 1) return to;
+        return ramp[(int)(progress * (STEPS - 1))];
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getTo() {
+        return to;
+    }
+}
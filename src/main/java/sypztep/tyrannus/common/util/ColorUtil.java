@@ -0,0 +1,81 @@
+package sypztep.tyrannus.common.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ARGB color math shared by the UI components.
+ * None of the methods allocate; ramps are built once and cached by color pair.
+ */
+public final class ColorUtil {
+    private static final Map<Long, ColorRamp> RAMPS = new HashMap<>();
+
+    private ColorUtil() {
+    }
+
+    /**
+     * Get the cached ramp between two colors, building it on first use.
+     * Keep the result in a static field for colors used every frame.
+     */
+    public static ColorRamp ramp(int from, int to) {
+        long key = ((long)from << 32) | (to & 0xFFFFFFFFL);
+        return RAMPS.computeIfAbsent(key, k -> new ColorRamp(from, to));
+    }
+
+    /**
+     * Interpolate between two colors based on a progress value (0.0 to 1.0).
+     */
+    public static int lerp(int color1, int color2, float progress) {
+        if (progress <= 0) return color1;
+        if (progress >= 1) return color2;
+
+        int a1 = (color1 >>> 24);
+        int r1 = (color1 >> 16) & 0xFF;
+        int g1 = (color1 >> 8) & 0xFF;
+        int b1 = color1 & 0xFF;
+
+        int a = (int)(a1 + ((color2 >>> 24) - a1) * progress);
+        int r = (int)(r1 + (((color2 >> 16) & 0xFF) - r1) * progress);
+        int g = (int)(g1 + (((color2 >> 8) & 0xFF) - g1) * progress);
+        int b = (int)(b1 + ((color2 & 0xFF) - b1) * progress);
+
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * Lighten a color by a factor, keeping its alpha.
+     */
+    public static int lighten(int color, float factor) {
+        int r = (color >> 16) & 0xFF;
+        int g = (color >> 8) & 0xFF;
+        int b = color & 0xFF;
+
+        r = Math.min(255, (int)(r + (255 - r) * factor));
+        g = Math.min(255, (int)(g + (255 - g) * factor));
+        b = Math.min(255, (int)(b + (255 - b) * factor));
+
+        return (color & 0xFF000000) | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * Darken a color by a factor, keeping its alpha.
+     */
+    public static int darken(int color, float factor) {
+        int r = (color >> 16) & 0xFF;
+        int g = (color >> 8) & 0xFF;
+        int b = color & 0xFF;
+
+        r = Math.max(0, (int)(r * (1 - factor)));
+        g = Math.max(0, (int)(g * (1 - factor)));
+        b = Math.max(0, (int)(b * (1 - factor)));
+
+        return (color & 0xFF000000) | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * Replace the alpha channel of a color.
+     */
+    public static int withAlpha(int color, int alpha) {
+        return (alpha << 24) | (color & 0x00FFFFFF);
+    }
+}
@@ -0,0 +1,48 @@
+package sypztep.tyrannus.mixin.core.render;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.gui.DrawContext;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import sypztep.tyrannus.client.debug.PerfOverlay;
+
+/**
+ * Counts draw calls for the {@link PerfOverlay}. Every public fill, text and texture
+ * method ends up in one of these overloads.
+ */
+@Mixin(DrawContext.class)
+@Environment(EnvType.CLIENT)
+public abstract class DrawContextMixin {
+    @Inject(method = {
+            "fill(Lnet/minecraft/client/render/RenderLayer;IIIIII)V",
+            "fillGradient(Lnet/minecraft/client/render/RenderLayer;IIIIIII)V"
+    }, at = @At("HEAD"))
+    private void onFill(CallbackInfo ci) {
+        PerfOverlay.countFill();
+    }
+
+    @Inject(method = {
+            "drawText(Lnet/minecraft/client/font/TextRenderer;Ljava/lang/String;IIIZ)I",
+            "drawText(Lnet/minecraft/client/font/TextRenderer;Lnet/minecraft/text/OrderedText;IIIZ)I"
+    }, at = @At("HEAD"))
+    private void onDrawText(CallbackInfoReturnable<Integer> cir) {
+        PerfOverlay.countText();
+    }
+
+    @Inject(method = {
+            "drawTexturedQuad(Lnet/minecraft/util/Identifier;IIIIIFFFF)V",
+            "drawTexturedQuad(Lnet/minecraft/util/Identifier;IIIIIFFFFFFFF)V"
+    }, at = @At("HEAD"))
+    private void onDrawTexture(CallbackInfo ci) {
+        PerfOverlay.countTexture();
+    }
+
+    @Inject(method = "enableScissor(IIII)V", at = @At("HEAD"))
+    private void onEnableScissor(CallbackInfo ci) {
+        PerfOverlay.countScissor();
+    }
+}
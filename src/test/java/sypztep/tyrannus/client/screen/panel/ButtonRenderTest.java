@@ -0,0 +1,31 @@
+package sypztep.tyrannus.client.screen.panel;
+
+import net.minecraft.text.Text;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import sypztep.tyrannus.headless.DrawCommand;
+import sypztep.tyrannus.headless.Headless;
+import sypztep.tyrannus.headless.RecordingDrawContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Draw-call budget of a button at rest.
+ */
+class ButtonRenderTest {
+    @BeforeAll
+    static void setUp() {
+        Headless.client();
+    }
+
+    @Test
+    void buttonIsBatchedAroundItsLabel() {
+        RecordingDrawContext context = Headless.renderFrame(new Button(0, 0, 80, Text.literal("Confirm"), button -> {}));
+
+        // Chrome, background and shading, label
+        context.requireDrawCallsAtMost(3);
+        assertEquals(1, context.count(DrawCommand.Type.TEXT));
+        assertEquals(0, context.count(DrawCommand.Type.FILL));
+        assertEquals(0, context.getScissorDepth());
+    }
+}
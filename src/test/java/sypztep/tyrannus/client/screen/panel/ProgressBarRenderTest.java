@@ -0,0 +1,52 @@
+package sypztep.tyrannus.client.screen.panel;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import sypztep.tyrannus.headless.DrawCommand;
+import sypztep.tyrannus.headless.Headless;
+import sypztep.tyrannus.headless.RecordingDrawContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Draw-call budgets of a progress bar with and without its value text.
+ */
+class ProgressBarRenderTest {
+    @BeforeAll
+    static void setUp() {
+        Headless.client();
+    }
+
+    @Test
+    void barWithValueText() {
+        ProgressBar bar = createBar();
+        bar.setValueText("50 / 100");
+
+        RecordingDrawContext context = Headless.renderFrame(bar);
+
+        // Chrome, bar, value text
+        context.requireDrawCallsAtMost(3);
+        assertEquals(1, context.count(DrawCommand.Type.TEXT));
+        assertEquals(0, context.count(DrawCommand.Type.FILL));
+    }
+
+    @Test
+    void barWithoutText() {
+        ProgressBar bar = createBar();
+        bar.setShowValue(false);
+
+        RecordingDrawContext context = Headless.renderFrame(bar);
+
+        context.requireDrawCallsAtMost(2);
+        assertEquals(0, context.count(DrawCommand.Type.TEXT));
+        assertEquals(0, context.count(DrawCommand.Type.FILL));
+    }
+
+    private static ProgressBar createBar() {
+        ProgressBar bar = new ProgressBar(0, 0, 120, 12);
+        // No animation left running for the other tests
+        bar.setSmoothAnimation(false);
+        bar.setProgress(0.5f);
+        return bar;
+    }
+}
@@ -0,0 +1,61 @@
+package sypztep.tyrannus.client.screen.panel;
+
+import net.minecraft.text.Text;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import sypztep.tyrannus.headless.DrawCommand;
+import sypztep.tyrannus.headless.Headless;
+import sypztep.tyrannus.headless.RecordingDrawContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Draw-call budgets of scrollable content, using an {@link InfoPanel}.
+ */
+class ScrollablePanelRenderTest {
+    private static final String PARAGRAPH = "A long paragraph of lore that wraps over several lines of the panel, "
+            + "so a few of them are enough to fill the viewport.";
+
+    @BeforeAll
+    static void setUp() {
+        Headless.client();
+    }
+
+    @Test
+    void contentIsScissoredOnce() {
+        RecordingDrawContext context = Headless.renderFrame(createPanel(10));
+
+        assertEquals(1, context.count(DrawCommand.Type.SCISSOR_PUSH));
+        assertEquals(1, context.count(DrawCommand.Type.SCISSOR_POP));
+        assertEquals(0, context.getScissorDepth());
+        assertEquals(0, context.count(DrawCommand.Type.FILL));
+    }
+
+    @Test
+    void onlyVisibleLinesAreDrawn() {
+        InfoPanel panel = createPanel(200);
+        RecordingDrawContext context = Headless.renderFrame(panel);
+
+        // Chrome, title, divider and scrollbar, plus the lines that fit with one cut at each edge
+        int visibleLines = panel.getContentHeight() / 9 + 2;
+        context.requireDrawCallsAtMost(visibleLines + 4);
+    }
+
+    @Test
+    void drawCallsDoNotGrowWithContent() {
+        int few = Headless.renderFrame(createPanel(10)).getDrawCallCount();
+        int many = Headless.renderFrame(createPanel(200)).getDrawCallCount();
+
+        assertTrue(few > 0);
+        assertEquals(few, many);
+    }
+
+    private static InfoPanel createPanel(int paragraphs) {
+        InfoPanel panel = new InfoPanel(0, 0, 200, 120, Text.literal("Lore"));
+        for (int i = 0; i < paragraphs; i++) {
+            panel.addParagraph(Text.literal(PARAGRAPH));
+        }
+        return panel;
+    }
+}
@@ -0,0 +1,122 @@
+package sypztep.tyrannus.client.screen.panel;
+
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.text.Text;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import sypztep.tyrannus.client.animation.AnimatedFloat;
+import sypztep.tyrannus.headless.DrawCommand;
+import sypztep.tyrannus.headless.Headless;
+import sypztep.tyrannus.headless.RecordingDrawContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Draw-call budgets of the panel chrome and of retained mode.
+ */
+class UIPanelRenderTest {
+    @BeforeAll
+    static void setUp() {
+        Headless.client();
+    }
+
+    @Test
+    void chromeIsOneBatchedFlush() {
+        RecordingDrawContext context = Headless.renderFrame(new UIPanel(0, 0, 120, 80, null));
+
+        assertEquals(1, context.count(DrawCommand.Type.BATCH));
+        assertEquals(0, context.count(DrawCommand.Type.FILL));
+        assertEquals(1, context.getDrawCallCount());
+    }
+
+    @Test
+    void headerAddsTitleAndDivider() {
+        RecordingDrawContext context = Headless.renderFrame(new UIPanel(0, 0, 120, 80, Text.literal("Stats")));
+
+        // Chrome and header background, title, divider
+        context.requireDrawCallsAtMost(3);
+        assertEquals(1, context.count(DrawCommand.Type.TEXT));
+        assertEquals(0, context.count(DrawCommand.Type.FILL));
+    }
+
+    @Test
+    void retainedPanelReplaysWithoutRerecording() {
+        CountingPanel panel = new CountingPanel();
+        panel.setRetained(true);
+
+        RecordingDrawContext first = Headless.renderFrame(panel);
+        RecordingDrawContext second = Headless.renderFrame(panel);
+
+        assertEquals(1, panel.renders, "replayed frames must not re-record");
+        assertEquals(first.getDrawCallCount(), second.getDrawCallCount());
+        assertEquals(first.count(DrawCommand.Type.TEXT), second.count(DrawCommand.Type.TEXT));
+    }
+
+    @Test
+    void animationElsewhereDoesNotRerecord() {
+        AnimatedFloat elsewhere = new AnimatedFloat(0.0f, 60_000);
+        elsewhere.animateTo(1.0f);
+        try {
+            CountingPanel panel = new CountingPanel();
+            panel.setRetained(true);
+            Headless.renderFrame(panel);
+            Headless.renderFrame(panel);
+
+            assertEquals(1, panel.renders);
+            assertEquals(1, panel.getRecordCount());
+        } finally {
+            elsewhere.set(0.0f);
+        }
+    }
+
+    @Test
+    void invalidatedRetainedPanelRecordsOnce() {
+        CountingPanel panel = new CountingPanel();
+        panel.setRetained(true);
+        Headless.renderFrame(panel);
+
+        panel.setTitle(Text.literal("Renamed"));
+        Headless.renderFrame(panel);
+        Headless.renderFrame(panel);
+
+        assertEquals(2, panel.renders);
+    }
+
+    @Test
+    void unrecordableDrawFallsBackToImmediate() {
+        CountingPanel panel = new CountingPanel();
+        panel.drawCallback = true;
+        panel.setRetained(true);
+
+        Headless.renderFrame(panel);
+        assertEquals(2, panel.renders, "the dropped recording is followed by a direct render");
+        assertEquals(1, panel.callbacks, "the recorder must not run draws it cannot replay");
+
+        Headless.renderFrame(panel);
+        assertEquals(3, panel.renders, "the panel stays immediate");
+        assertEquals(2, panel.callbacks);
+    }
+
+    private static final class CountingPanel extends UIPanel {
+        int renders = 0;
+        int callbacks = 0;
+        boolean drawCallback = false;
+
+        CountingPanel() {
+            super(0, 0, 120, 80, Text.literal("Retained"));
+        }
+
+        @Override
+        public void render(DrawContext context, int mouseX, int mouseY, float delta) {
+            renders++;
+            super.render(context, mouseX, mouseY, delta);
+        }
+
+        @Override
+        protected void renderContents(DrawContext context, int mouseX, int mouseY, float delta) {
+            if (drawCallback) {
+                context.draw(() -> callbacks++);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package sypztep.tyrannus.client.screen.tab.exam;
+
+import net.minecraft.text.Text;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import sypztep.tyrannus.client.screen.BaseScreen;
+import sypztep.tyrannus.client.screen.panel.UIPanel;
+import sypztep.tyrannus.client.screen.tab.TabDataLoader;
+import sypztep.tyrannus.headless.Headless;
+import sypztep.tyrannus.headless.RecordingDrawContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Draw-call budget of the quests tab, which must not depend on the number of quests.
+ */
+class QuestsTabRenderTest {
+    // Chrome, title, divider, scrollbar, the section header and the few quests in view
+    private static final int DRAW_BUDGET = 20;
+
+    @BeforeAll
+    static void setUp() {
+        Headless.client();
+    }
+
+    @Test
+    void thousandQuestsStayWithinBudget() throws InterruptedException {
+        RecordingDrawContext context = renderQuests(1000);
+
+        context.requireDrawCallsAtMost(DRAW_BUDGET);
+        assertEquals(0, context.getScissorDepth());
+    }
+
+    @Test
+    void drawCallsDoNotGrowWithQuests() throws InterruptedException {
+        int few = renderQuests(10).getDrawCallCount();
+        int many = renderQuests(1000).getDrawCallCount();
+
+        assertEquals(few, many);
+    }
+
+    @Test
+    void staticFrameReplaysRecording() throws InterruptedException {
+        UIPanel panel = loadQuests(100).getPanels().get(0);
+
+        RecordingDrawContext first = Headless.renderFrame(panel);
+        RecordingDrawContext second = Headless.renderFrame(panel);
+
+        assertEquals(1, panel.getRecordCount(), "the second frame must replay the first recording");
+        assertEquals(first.getDrawCallCount(), second.getDrawCallCount());
+    }
+
+    private static RecordingDrawContext renderQuests(int count) throws InterruptedException {
+        QuestsTab tab = loadQuests(count);
+        assertEquals(1, tab.getPanels().size());
+        return Headless.renderFrame(tab.getPanels().get(0));
+    }
+
+    private static QuestsTab loadQuests(int count) throws InterruptedException {
+        List<QuestsTab.Quest> active = new ArrayList<>();
+        List<QuestsTab.Quest> completed = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            QuestsTab.Quest quest = new QuestsTab.Quest("Quest " + i, "Deliver the package to the village elder.", i % 4, i % 2 == 1);
+            (quest.completed ? completed : active).add(quest);
+        }
+
+        QuestsTab tab = new QuestsTab(() -> new QuestsTab.QuestData(active, completed));
+        tab.attach(createScreen());
+        tab.ensureInitialized();
+        awaitLoaded(tab);
+        return tab;
+    }
+
+    private static BaseScreen createScreen() {
+        BaseScreen screen = new BaseScreen(Text.literal("Quests")) {
+            @Override
+            protected void initPanels() {
+            }
+        };
+        screen.resize(Headless.client(), 400, 300);
+        return screen;
+    }
+
+    /**
+     * Apply the loaded quests the way a screen does at the start of a frame.
+     */
+    private static void awaitLoaded(QuestsTab tab) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (tab.isLoading()) {
+            if (System.nanoTime() > deadline) {
+                fail("Quests did not load");
+            }
+            Thread.sleep(1);
+            TabDataLoader.drainCompleted();
+        }
+    }
+}